@@ -0,0 +1,134 @@
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+/**
+ * Decodes every image listed in assets/manifest.txt on a small pool of background
+ * threads, once per process. Names that point at the same file share one decode.
+ * Callers get a future per image (completed with null if the file is missing or
+ * broken, so draw sites fall back to their shapes) and can poll the progress.
+ */
+public class AssetLoader {
+    private static final String MANIFEST = "/assets/manifest.txt";
+    private static final AssetLoader INSTANCE = new AssetLoader();
+
+    private final Map<String, String> paths = new LinkedHashMap<>(); // name -> classpath path
+    private final Map<String, CompletableFuture<BufferedImage>> decodes = new HashMap<>(); // by path
+    private final AtomicInteger decoded = new AtomicInteger();
+    private CompletableFuture<Void> all;
+
+    private AssetLoader() {
+    }
+
+    public static AssetLoader get() {
+        return INSTANCE;
+    }
+
+    /** Starts decoding everything in the manifest. Only the first call does anything. */
+    public synchronized AssetLoader start() {
+        if (all != null) return this;
+        readManifest();
+
+        // The decodes go to memory; ImageIO's default disk cache only slows them down
+        ImageIO.setUseCache(false);
+        int unique = (int) paths.values().stream().distinct().count();
+        int threads = Math.max(1, Math.min(unique, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        for (String path : paths.values()) {
+            decodes.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> decode(p), pool));
+        }
+        pool.shutdown(); // queued decodes still run; the threads exit when they're done
+
+        all = CompletableFuture.allOf(decodes.values().toArray(new CompletableFuture<?>[0]));
+        all.thenRun(() -> System.out.println("✅ Loaded " + decodes.size() + " images"));
+        return this;
+    }
+
+    private void readManifest() {
+        InputStream in = AssetLoader.class.getResourceAsStream(MANIFEST);
+        if (in == null) {
+            System.out.println("❌ Could not find " + MANIFEST);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int eq = line.indexOf('=');
+                if (eq < 0) continue;
+                paths.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+            }
+        } catch (IOException e) {
+            System.out.println("⚠ Error reading " + MANIFEST);
+            e.printStackTrace();
+        }
+    }
+
+    private BufferedImage decode(String path) {
+        try (InputStream in = AssetLoader.class.getResourceAsStream(path)) {
+            if (in == null) {
+                System.out.println("❌ Could not find " + path);
+                return null;
+            }
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            System.out.println("⚠ Error reading image file " + path);
+            e.printStackTrace();
+            return null;
+        } finally {
+            decoded.incrementAndGet();
+        }
+    }
+
+    /** The named image from the manifest; completes with null if it couldn't be loaded. */
+    public CompletableFuture<BufferedImage> image(String name) {
+        start();
+        String path = paths.get(name);
+        if (path == null) {
+            System.out.println("❌ No asset named " + name + " in " + MANIFEST);
+            return CompletableFuture.completedFuture(null);
+        }
+        return decodes.get(path);
+    }
+
+    /** Completes once every image in the manifest has been decoded (or failed to). */
+    public CompletableFuture<Void> allLoaded() {
+        start();
+        return all;
+    }
+
+    public boolean isDone() {
+        return allLoaded().isDone();
+    }
+
+    public int getLoadedCount() {
+        return decoded.get();
+    }
+
+    public int getTotalCount() {
+        start();
+        return decodes.size();
+    }
+
+    /** Fraction of files decoded so far, 0..1. */
+    public double getProgress() {
+        int total = getTotalCount();
+        return total == 0 ? 1 : (double) getLoadedCount() / total;
+    }
+}
@@ -1,45 +1,51 @@
 import java.awt.*;
-import java.util.ArrayList;
 
 public class Boss {
     double x, y;
+    double prevX, prevY; // position at the previous sim tick, for interpolation
+    double speed = 1.0;  // px per tick, slow
     int width = 100, height = 100;
     int maxHealth = 500;
     int health = maxHealth;
     double facingAngle = 0; 
 
-    ArrayList<Orb> orbs = new ArrayList<>();
     int orbSpawnTimer = 0;
 
     // Spawn animation fields
     private boolean spawning = true;
     private int spawnTimer = 0;
-    private static final int SPAWN_DURATION = 60; // 1 second at 60 FPS
+    private static final int SPAWN_DURATION = GameWorld.TICKS_PER_SECOND; // 1 second of ticks
 
     // Defeat animation fields
     private boolean defeated = false;
     private int defeatTimer = 0;
-    private static final int DEFEAT_DURATION = 60; // 1 second
-    private ArrayList<Explosion> defeatExplosions = new ArrayList<>();
+    private static final int DEFEAT_DURATION = GameWorld.TICKS_PER_SECOND; // 1 second
 
     public Boss(double x, double y) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         spawning = true;
         spawnTimer = 0;
         defeated = false;
         defeatTimer = 0;
-        defeatExplosions.clear();
     }
 
-    public static Point getRandomSpawnPoint() {
+    public static Point getRandomSpawnPoint(GameWorld world) {
         int padding = 100; // padding from edges
-        int spawnX = padding + (int) (Math.random() * (GamePanel.WIDTH - 2 * padding - 100));
-        int spawnY = padding + (int) (Math.random() * (GamePanel.HEIGHT - 2 * padding - 100));
+        int spawnX = padding + (int) (world.random.nextDouble() * (world.width - 2 * padding - 100));
+        int spawnY = padding + (int) (world.random.nextDouble() * (world.height - 2 * padding - 100));
         return new Point(spawnX, spawnY);
     }
 
-    public void update() {
+    // Snapshot this boss for render interpolation
+    public void savePositions() {
+        prevX = x;
+        prevY = y;
+    }
+
+    public void update(GameWorld world) {
         if (spawning) {
             spawnTimer++;
             if (spawnTimer >= SPAWN_DURATION) {
@@ -53,46 +59,27 @@ public class Boss {
 
             // Spawn explosions periodically during defeat animation
             if (defeatTimer % 10 == 0) {
-                double ex = x + Math.random() * width;
-                double ey = y + Math.random() * height;
-                defeatExplosions.add(new Explosion(ex, ey));
-            }
-
-            // Update explosions and remove dead ones
-            for (int i = defeatExplosions.size() - 1; i >= 0; i--) {
-                Explosion explosion = defeatExplosions.get(i);
-                explosion.age++;
-                if (!explosion.isAlive()) {
-                    defeatExplosions.remove(i);
-                }
+                double ex = x + world.random.nextDouble() * width;
+                double ey = y + world.random.nextDouble() * height;
+                world.particles.spawnBlast(ex, ey);
             }
 
-            // After defeat animation ends, clear orbs and mark health zero to despawn
+            // After defeat animation ends, mark health zero to despawn (its orbs keep flying)
             if (defeatTimer >= DEFEAT_DURATION) {
                 health = 0;
-                orbs.clear();
             }
             return; // skip normal updates while defeated
         }
 
         // Normal behavior
         orbSpawnTimer++;
-        if (orbSpawnTimer % 60 == 0) {
-            spawnOrbs();
-        }
-
-        for (int i = orbs.size() - 1; i >= 0; i--) {
-            Orb orb = orbs.get(i);
-            orb.update();
-            if (orb.isOffScreen(GamePanel.WIDTH, GamePanel.HEIGHT)) {
-                orbs.remove(i);
-            }
+        if (orbSpawnTimer % GameWorld.TICKS_PER_SECOND == 0) {
+            spawnOrbs(world);
         }
     }
 
     public void chase(double targetX, double targetY) {
         if (spawning || defeated) return;
-        double speed = 1.0; // slow speed
         double centerX = x + width / 2.0;
         double centerY = y + height / 2.0;
 
@@ -109,7 +96,7 @@ public class Boss {
         facingAngle = Math.atan2(dy, dx);
     }
 
-    private void spawnOrbs() {
+    private void spawnOrbs(GameWorld world) {
         int minOrbs = 20;
         int maxOrbs = 30;
         // Compute orb count based on health lost (more lost = more orbs)
@@ -120,62 +107,36 @@ public class Boss {
         double baseAngle = 2 * Math.PI / orbCount;
 
         for (int i = 0; i < orbCount; i++) {
-            double angle = baseAngle * i + (Math.random() * 0.4 - 0.2);
-            orbs.add(new Orb(centerX, centerY, angle));
+            double angle = baseAngle * i + (world.random.nextDouble() * 0.4 - 0.2);
+            world.projectiles.spawn(SpatialGrid.ORBS, ProjectileSystem.OWNER_BOSS, centerX, centerY,
+                    angle, ProjectileSystem.ORB_SPEED, ProjectileSystem.ORB_SIZE);
         }
     }
 
 
-    public void draw(Graphics g) {
+    // The health bar is the combined one in the HUD, not drawn per boss
+    public void draw(SpriteBatch batch, double interp) {
+        double drawX = prevX + (x - prevX) * interp;
+        double drawY = prevY + (y - prevY) * interp;
+
         if (spawning) {
             float alpha = 1.0f - spawnTimer / (float) SPAWN_DURATION;
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setColor(new Color(255, 255, 0, (int) (alpha * 255)));
             int radius = (int) (width * 1.5 * (spawnTimer / (float) SPAWN_DURATION));
-            g2.fillOval((int) (x + width / 2 - radius / 2), (int) (y + height / 2 - radius / 2), radius, radius);
-            g2.dispose();
+            batch.setAlpha(alpha);
+            batch.fillOval(Color.YELLOW, (int) (drawX + width / 2 - radius / 2), (int) (drawY + height / 2 - radius / 2), radius, radius);
+            batch.setAlpha(1);
             return;
         }
 
-        if (defeated) {
-            for (Explosion ex : defeatExplosions) {
-                ex.draw(g);
-            }
-            return;
-        }
+        if (defeated) return; // only its defeat bursts (particles) are left on screen
 
-        Graphics2D g2 = (Graphics2D) g.create();
-
-        // Rotate around boss center by facingAngle
-        int centerX = (int) (x + width / 2.0);
-        int centerY = (int) (y + height / 2.0);
-        g2.rotate(facingAngle, centerX, centerY);
-
-        if (SpriteManager.bossSprite != null) {
-            g2.drawImage(SpriteManager.bossSprite, (int) x, (int) y, width, height, null);
+        // Rotate around boss center by facingAngle (too big to pre-rotate, so this is an exact rotation)
+        double cx = drawX + width / 2.0, cy = drawY + height / 2.0;
+        if (SpriteManager.bossRotated != null) {
+            SpriteManager.bossRotated.draw(batch, cx, cy, facingAngle);
         } else {
-            g2.setColor(Color.MAGENTA);
-            g2.fillRect((int) x, (int) y, width, height);
-        }
-
-        g2.dispose();
-
-        // Draw orbs and health bar as usual without rotation
-        for (Orb orb : orbs) {
-            orb.draw(g);
+            batch.fillRect(Color.MAGENTA, null, cx, cy, width, height, Math.cos(facingAngle), Math.sin(facingAngle));
         }
-
-        int barWidth = 400;
-        int barHeight = 20;
-        int xPos = (GamePanel.WIDTH - barWidth) / 2;
-        int yPos = GamePanel.HEIGHT - barHeight - 20;
-        g.setColor(Color.GRAY);
-        g.fillRect(xPos, yPos, barWidth, barHeight);
-        g.setColor(Color.RED);
-        int healthWidth = (int) ((health / (double) maxHealth) * barWidth);
-        g.fillRect(xPos, yPos, healthWidth, barHeight);
-        g.setColor(Color.WHITE);
-        g.drawRect(xPos, yPos, barWidth, barHeight);
     }
 
     public Rectangle getBounds() {
@@ -189,47 +150,10 @@ public class Boss {
             health = 0;
             defeated = true;
             defeatTimer = 0;
-            defeatExplosions.clear();
         }
     }
 
     public boolean isDead() {
         return health <= 0 && !spawning; // consider dead after spawn animation finishes and health zero
     }
-
-    // Inner Orb class remains unchanged
-    public static class Orb {
-        double x, y;
-        double angle;
-        double speed = 4;
-        int size = 10;
-
-        public Orb(double x, double y, double angle) {
-            this.x = x;
-            this.y = y;
-            this.angle = angle;
-        }
-
-        public void update() {
-            x += Math.cos(angle) * speed;
-            y += Math.sin(angle) * speed;
-        }
-
-        public void draw(Graphics g) {
-            if (SpriteManager.orbSprite != null) {
-                g.drawImage(SpriteManager.orbSprite, (int) x, (int) y, size, size, null);
-            } else {
-                g.setColor(Color.ORANGE);
-                g.fillOval((int) x, (int) y, size, size);
-            }
-        }
-
-        public boolean isOffScreen(int width, int height) {
-            return x < -size || x > width || y < -size || y > height;
-        }
-
-        public Rectangle getBounds() {
-            return new Rectangle((int) x, (int) y, size, size);
-        }
-    }
 }
@@ -1,9 +1,93 @@
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * All access to game.db. One long-lived connection (WAL journal, synchronous=NORMAL,
+ * a busy timeout for other processes' writes) is shared by every caller under a
+ * lock, with each SQL string prepared once and reused. SQLite serializes writers
+ * anyway, so a pool wouldn't buy concurrency, only more open handles.
+ *
+ * Writes nobody should wait for (recordRun) go to a single writer thread in
+ * submission order and hand back a future instead.
+ *
+ * close() finishes queued writes and releases it all; a shutdown hook does that
+ * too if nobody did.
+ */
 public class DatabaseManager {
     private static final String DB_URL = "jdbc:sqlite:game.db";
+    private static final int BUSY_TIMEOUT_MS = 5000;
     private String lastError = null;
 
+    // Guards the connection and the statement cache; statements aren't thread-safe
+    private final Object lock = new Object();
+    private Connection conn;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private boolean closed = false;
+    private final Thread shutdownHook = new Thread(this::close, "db-close");
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "db-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final long WRITER_DRAIN_SECONDS = 2;
+
+    /** A user's row as the leaderboard shows it. */
+    public static final class UserStats {
+        public final String username;
+        public final int highscore;
+        public final int currency;
+
+        public UserStats(String username, int highscore, int currency) {
+            this.username = username;
+            this.highscore = highscore;
+            this.currency = currency;
+        }
+    }
+
+    /**
+     * Told after a write through this manager changed a user's highscore or currency,
+     * on the thread that did the write (often not the EDT).
+     */
+    public interface StatsListener {
+        void statsChanged(UserStats stats);
+    }
+
+    private final List<StatsListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addStatsListener(StatsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeStatsListener(StatsListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Reads the user's current row back and hands it to every listener (outside the lock)
+    private void publishStats(String username) {
+        if (listeners.isEmpty()) return;
+        UserStats stats = getUserStats(username);
+        if (stats != null) publishStats(stats);
+    }
+
+    private void publishStats(UserStats stats) {
+        for (StatsListener listener : listeners) {
+            listener.statsChanged(stats);
+        }
+    }
+
     public String getLastError() {
         return lastError;
     }
@@ -17,165 +101,316 @@ public class DatabaseManager {
     }
 
     public DatabaseManager() {
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
         createTables();
         addColumnsIfNeeded();
+        migrateSkins();
     }
 
-    private void createTables() {
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
-            // Create table if not exists
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS users (" +
-                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-                "username TEXT UNIQUE NOT NULL," +
-                "password TEXT NOT NULL," +
-                "highscore INTEGER DEFAULT 0," +
-                "currency INTEGER DEFAULT 0" +
-                ")"
-            );
-
-            // Add columns if not present (SQLite versions may have limited ALTER support)
-            try {
-                stmt.execute("ALTER TABLE users ADD COLUMN purchased_skins TEXT DEFAULT ''");
-            } catch (SQLException e) {
-                // Column probably exists; ignore
+    // The shared connection, opened and configured on first use. Call with the lock held.
+    private Connection connection() throws SQLException {
+        if (closed) throw new SQLException("Database is closed");
+        if (conn == null || conn.isClosed()) {
+            statements.clear();
+            conn = DriverManager.getConnection(DB_URL);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA synchronous=NORMAL");
+                stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
             }
+        }
+        return conn;
+    }
 
+    // The cached statement for sql, parameters cleared. Call with the lock held.
+    private PreparedStatement prepare(String sql) throws SQLException {
+        Connection c = connection();
+        PreparedStatement pstmt = statements.get(sql);
+        if (pstmt == null) {
+            pstmt = c.prepareStatement(sql);
+            statements.put(sql, pstmt);
+        } else {
+            pstmt.clearParameters();
+        }
+        return pstmt;
+    }
+
+    /** Closes the cached statements and the connection; every call after this fails. */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(WRITER_DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Database writes still pending at close");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            for (PreparedStatement pstmt : statements.values()) {
+                try {
+                    pstmt.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            statements.clear();
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+                conn = null;
+            }
+        }
+        if (Thread.currentThread() != shutdownHook) {
             try {
-                stmt.execute("ALTER TABLE users ADD COLUMN selected_skin TEXT DEFAULT 'default'");
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook has nothing left to do
+            }
+        }
+    }
+
+    private void createTables() {
+        synchronized (lock) {
+            try (Statement stmt = connection().createStatement()) {
+                // Create table if not exists
+                stmt.execute(
+                    "CREATE TABLE IF NOT EXISTS users (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "username TEXT UNIQUE NOT NULL," +
+                    "password TEXT NOT NULL," +
+                    "highscore INTEGER DEFAULT 0," +
+                    "currency INTEGER DEFAULT 0" +
+                    ")"
+                );
+
+                // Who owns which skin; the key doubles as the index for ownership checks
+                stmt.execute(
+                    "CREATE TABLE IF NOT EXISTS user_skins (" +
+                    "user_id INTEGER NOT NULL REFERENCES users(id)," +
+                    "skin_id TEXT NOT NULL," +
+                    "PRIMARY KEY (user_id, skin_id)" +
+                    ") WITHOUT ROWID"
+                );
             } catch (SQLException e) {
-                // Column probably exists; ignore
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
-    
+
+    // Add columns if not present (SQLite versions may have limited ALTER support)
     private void addColumnsIfNeeded() {
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement()) {
+        synchronized (lock) {
+            try (Statement stmt = connection().createStatement()) {
+
+                // Add selected_skin column if it does not exist
+                try {
+                    stmt.executeUpdate("ALTER TABLE users ADD COLUMN selected_skin TEXT DEFAULT 'default'");
+                } catch (SQLException e) {
+                    // Exception likely "duplicate column", ignore it
+                }
 
-            // Add purchased_skins column if it does not exist
-            try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN purchased_skins TEXT DEFAULT ''");
             } catch (SQLException e) {
-                // Exception likely "duplicate column", ignore it
+                e.printStackTrace();
             }
+        }
+    }
 
-            // Add selected_skin column if it does not exist
+
+    /**
+     * Databases from before user_skins keep ownership in a comma-separated
+     * purchased_skins column (and selected_skin as typed): moves the skins into
+     * user_skins, normalizes selected_skin and drops the old column, so the next
+     * start has nothing to do. New databases never get the column.
+     */
+    private void migrateSkins() {
+        synchronized (lock) {
             try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN selected_skin TEXT DEFAULT 'default'");
+                Connection c = connection();
+                if (!hasColumn(c, "users", "purchased_skins")) return;
+                c.setAutoCommit(false);
+                try (Statement stmt = c.createStatement()) {
+                    PreparedStatement insert = prepare("INSERT OR IGNORE INTO user_skins(user_id, skin_id) VALUES(?,?)");
+                    int migrated = 0;
+                    try (ResultSet rs = stmt.executeQuery(
+                            "SELECT id, purchased_skins FROM users WHERE purchased_skins <> ''")) {
+                        while (rs.next()) {
+                            for (String skin : rs.getString("purchased_skins").split(",")) {
+                                if (skin.isBlank()) continue;
+                                insert.setInt(1, rs.getInt("id"));
+                                insert.setString(2, normalizeSkin(skin));
+                                migrated += insert.executeUpdate();
+                            }
+                        }
+                    }
+                    stmt.executeUpdate("UPDATE users SET selected_skin = lower(trim(selected_skin))");
+                    try {
+                        stmt.executeUpdate("ALTER TABLE users DROP COLUMN purchased_skins");
+                    } catch (SQLException e) {
+                        // SQLite before 3.35 can't drop columns; emptied, it leaves nothing to move next time
+                        stmt.executeUpdate("UPDATE users SET purchased_skins='' WHERE purchased_skins <> ''");
+                    }
+                    c.commit();
+                    if (migrated > 0) System.out.println("✅ Migrated " + migrated + " owned skins to user_skins");
+                } catch (SQLException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
             } catch (SQLException e) {
-                // Exception likely "duplicate column", ignore it
+                e.printStackTrace();
             }
+        }
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private static boolean hasColumn(Connection c, String table, String column) throws SQLException {
+        try (Statement stmt = c.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
         }
+        return false;
     }
 
+    // Skin ids were compared ignoring case and spaces; every id is stored and compared this way
+    static String normalizeSkin(String skinId) {
+        return skinId.trim().toLowerCase(Locale.ROOT);
+    }
 
     public boolean isSkinPurchased(String username, String skinId) {
-        String sql = "SELECT purchased_skins FROM users WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                String skins = rs.getString("purchased_skins");
-                if (skins != null && !skins.isEmpty()) {
-                    for (String s : skins.split(",")) {
-                        if (s.trim().equalsIgnoreCase(skinId.trim())) return true;
-                    }
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare(
+                        "SELECT 1 FROM user_skins WHERE skin_id=? AND user_id=(SELECT id FROM users WHERE username=?)");
+                pstmt.setString(1, normalizeSkin(skinId));
+                pstmt.setString(2, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next();
                 }
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return false;
         }
-        return false;
     }
 
-    public void buySkin(String username, String skinId, int price) {
-        int currentCoins = getCurrency(username);
-        if (currentCoins < price) return;
-
-        String purchasedSql = "SELECT purchased_skins FROM users WHERE username=?";
-        String updateSql = "UPDATE users SET currency=?, purchased_skins=? WHERE username=?";
+    /**
+     * Buys the skin in one transaction: ownership is recorded and the price taken
+     * only if the balance covers it, so two purchases can't both spend the same coins.
+     * Returns the balance after the purchase, read in the same transaction, or -1 if
+     * the skin wasn't bought (already owning it costs nothing and returns the balance).
+     */
+    public int buySkin(String username, String skinId, int price) {
+        int balance;
+        synchronized (lock) {
+            try {
+                Connection c = connection();
+                c.setAutoCommit(false);
+                try {
+                    PreparedStatement insert = prepare(
+                            "INSERT OR IGNORE INTO user_skins(user_id, skin_id) SELECT id, ? FROM users WHERE username=?");
+                    insert.setString(1, normalizeSkin(skinId));
+                    insert.setString(2, username);
+                    if (insert.executeUpdate() == 0) {
+                        // Already owned (or no such user): nothing to pay for
+                        c.rollback();
+                        return isSkinPurchased(username, skinId) ? getCurrency(username) : -1;
+                    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement select = conn.prepareStatement(purchasedSql);
-             PreparedStatement update = conn.prepareStatement(updateSql)) {
-            select.setString(1, username);
-            ResultSet rs = select.executeQuery();
+                    PreparedStatement charge = prepare(
+                            "UPDATE users SET currency = currency - ? WHERE username=? AND currency >= ?");
+                    charge.setInt(1, price);
+                    charge.setString(2, username);
+                    charge.setInt(3, price);
+                    if (charge.executeUpdate() == 0) {
+                        c.rollback();
+                        return -1;
+                    }
 
-            String skins = "";
-            if (rs.next()) {
-                skins = rs.getString("purchased_skins");
-                if (skins == null) skins = "";
-            }
-            if (!skins.contains(skinId)) {
-                skins = skins.isEmpty() ? skinId : skins + "," + skinId;
+                    PreparedStatement read = prepare("SELECT currency FROM users WHERE username=?");
+                    read.setString(1, username);
+                    try (ResultSet rs = read.executeQuery()) {
+                        rs.next();
+                        balance = rs.getInt("currency");
+                    }
+                    c.commit();
+                } catch (SQLException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return -1;
             }
-            int newBalance = currentCoins - price;
-
-            update.setInt(1, newBalance);
-            update.setString(2, skins);
-            update.setString(3, username);
-            update.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+        publishStats(username);
+        return balance;
     }
 
     public String getSelectedSkin(String username) {
-        String sql = "SELECT selected_skin FROM users WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) return rs.getString("selected_skin");
-        } catch (SQLException e) {
-            e.printStackTrace();
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("SELECT selected_skin FROM users WHERE username=?");
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) return rs.getString("selected_skin");
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return "default";
         }
-        return "default";
     }
 
     public void setSelectedSkin(String username, String skinId) {
-        String sql = "UPDATE users SET selected_skin=? WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, skinId);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("UPDATE users SET selected_skin=? WHERE username=?");
+                pstmt.setString(1, normalizeSkin(skinId));
+                pstmt.setString(2, username);
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
         }
     }
 
     public int getCurrency(String username) {
-        String sql = "SELECT currency FROM users WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) return rs.getInt("currency");
-        } catch (SQLException e) {
-            e.printStackTrace();
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("SELECT currency FROM users WHERE username=?");
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) return rs.getInt("currency");
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return 0;
         }
-        return 0;
     }
 
     public void updateCurrency(String username, int deltaCoins) {
-        String sql = "UPDATE users SET currency = currency + ? WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, deltaCoins);
-            pstmt.setString(2, username);
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("UPDATE users SET currency = currency + ? WHERE username=?");
+                pstmt.setInt(1, deltaCoins);
+                pstmt.setString(2, username);
+                if (pstmt.executeUpdate() == 0) return;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return;
+            }
         }
+        publishStats(username);
     }
 
     public boolean registerUser(String username, String password) {
@@ -184,18 +419,20 @@ public class DatabaseManager {
             lastError = "Username/password cannot be empty.";
             return false;
         }
-        String sql = "INSERT INTO users(username,password) VALUES(?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);
-            pstmt.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            lastError = e.getMessage();
-            e.printStackTrace();
-            return false;
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("INSERT INTO users(username,password) VALUES(?,?)");
+                pstmt.setString(1, username);
+                pstmt.setString(2, password);
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                lastError = e.getMessage();
+                e.printStackTrace();
+                return false;
+            }
         }
+        publishStats(username);
+        return true;
     }
 
     public boolean loginUser(String username, String password) {
@@ -204,55 +441,172 @@ public class DatabaseManager {
             lastError = "Username/password cannot be empty.";
             return false;
         }
-        String sql = "SELECT 1 FROM users WHERE username=? AND password=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                boolean ok = rs.next();
-                if (!ok) lastError = "Invalid username or password.";
-                return ok;
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("SELECT 1 FROM users WHERE username=? AND password=?");
+                pstmt.setString(1, username);
+                pstmt.setString(2, password);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    boolean ok = rs.next();
+                    if (!ok) lastError = "Invalid username or password.";
+                    return ok;
+                }
+            } catch (SQLException e) {
+                lastError = e.getMessage();
+                e.printStackTrace();
+                return false;
             }
-        } catch (SQLException e) {
-            lastError = e.getMessage();
-            e.printStackTrace();
-            return false;
         }
     }
 
     public int getHighscore(String username) {
         lastError = null;
-        String sql = "SELECT highscore FROM users WHERE username=?";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) return rs.getInt("highscore");
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("SELECT highscore FROM users WHERE username=?");
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) return rs.getInt("highscore");
+                    return 0;
+                }
+            } catch (SQLException e) {
+                lastError = e.getMessage();
+                e.printStackTrace();
                 return 0;
             }
-        } catch (SQLException e) {
-            lastError = e.getMessage();
-            e.printStackTrace();
-            return 0;
         }
     }
 
     public void updateHighscore(String username, int score) {
         lastError = null;
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
-            int current = getHighscore(username);
-            if (score > current) {
-                try (PreparedStatement pstmt = conn.prepareStatement(
-                        "UPDATE users SET highscore=? WHERE username=?")) {
-                    pstmt.setInt(1, score);
-                    pstmt.setString(2, username);
-                    pstmt.executeUpdate();
+        boolean updated = false;
+        synchronized (lock) {
+            // Only ever raises it; the WHERE does the comparison in the same statement
+            try {
+                PreparedStatement pstmt = prepare("UPDATE users SET highscore=? WHERE username=? AND highscore < ?");
+                pstmt.setInt(1, score);
+                pstmt.setString(2, username);
+                pstmt.setInt(3, score);
+                updated = pstmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                lastError = e.getMessage();
+                e.printStackTrace();
+            }
+        }
+        if (updated) publishStats(username);
+    }
+
+    /**
+     * Adds a finished run to the user's stats: highscore = MAX(highscore, score) and
+     * currency += coins, in one transaction on the writer thread. The future completes
+     * with the new totals (also published to stats listeners), or exceptionally if
+     * the write failed or there's no such user.
+     */
+    public CompletableFuture<UserStats> recordRun(String username, int score, int coins) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                UserStats stats;
+                synchronized (lock) {
+                    try {
+                        stats = writeRun(username, score, coins);
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
                 }
+                publishStats(stats);
+                return stats;
+            }, writer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new SQLException("Database is closed"));
+        }
+    }
+
+    // Call with the lock held
+    private UserStats writeRun(String username, int score, int coins) throws SQLException {
+        Connection c = connection();
+        c.setAutoCommit(false);
+        try {
+            PreparedStatement update = prepare(
+                    "UPDATE users SET highscore = MAX(highscore, ?), currency = currency + ? WHERE username=?");
+            update.setInt(1, score);
+            update.setInt(2, coins);
+            update.setString(3, username);
+            if (update.executeUpdate() == 0) throw new SQLException("No such user: " + username);
+
+            PreparedStatement select = prepare("SELECT username, highscore, currency FROM users WHERE username=?");
+            select.setString(1, username);
+            UserStats stats;
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                stats = new UserStats(rs.getString("username"), rs.getInt("highscore"), rs.getInt("currency"));
             }
+            c.commit();
+            return stats;
         } catch (SQLException e) {
-            lastError = e.getMessage();
-            e.printStackTrace();
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    /** Everything the UI shows about the user in one query (a row per owned skin), or null if there's no such user. */
+    public UserProfile loadProfile(String username) {
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare(
+                        "SELECT u.highscore, u.currency, u.selected_skin, s.skin_id FROM users u " +
+                        "LEFT JOIN user_skins s ON s.user_id = u.id WHERE u.username=?");
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    int highscore = rs.getInt("highscore");
+                    int currency = rs.getInt("currency");
+                    String selectedSkin = rs.getString("selected_skin");
+                    Set<String> skins = new HashSet<>();
+                    do {
+                        String skin = rs.getString("skin_id");
+                        if (skin != null) skins.add(skin);
+                    } while (rs.next());
+                    return new UserProfile(username, highscore, currency, skins, selectedSkin);
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    /** The user's highscore and currency, or null if there's no such user (or the read failed). */
+    public UserStats getUserStats(String username) {
+        synchronized (lock) {
+            try {
+                PreparedStatement pstmt = prepare("SELECT username, highscore, currency FROM users WHERE username=?");
+                pstmt.setString(1, username);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new UserStats(rs.getString("username"), rs.getInt("highscore"), rs.getInt("currency"));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    /** The top users by highscore, best first. Throws so callers can show the error. */
+    public List<UserStats> getTopScores(int limit) throws SQLException {
+        synchronized (lock) {
+            PreparedStatement pstmt = prepare("SELECT username, highscore, currency FROM users ORDER BY highscore DESC LIMIT ?");
+            pstmt.setInt(1, limit);
+            List<UserStats> top = new ArrayList<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    top.add(new UserStats(rs.getString("username"), rs.getInt("highscore"), rs.getInt("currency")));
+                }
+            }
+            return top;
         }
     }
 }
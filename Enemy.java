@@ -2,48 +2,40 @@ import java.awt.*;
 
 public class Enemy {
     double x, y;
-    double speed = 1.6; // tweakable
+    double prevX, prevY; // position at the previous sim tick, for interpolation
+    double speed = 1.6; // px per tick, tweakable
     int width = 40, height = 40;
+    boolean dead = false; // killed this tick, removed after collisions
+    double faceX = 1, faceY = 0; // unit vector toward the player, from the flow field
 
     public Enemy(int startX, int startY) {
         this.x = startX;
         this.y = startY;
+        savePosition();
     }
 
-    // Move toward target (player)
-    public void chase(double targetX, double targetY) {
-        double angle = Math.atan2(
-                targetY - (y + height / 2.0),
-                targetX - (x + width / 2.0)
-        );
-        x += Math.cos(angle) * speed;
-        y += Math.sin(angle) * speed;
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
     }
 
-    // Draw enemy rotated toward player
-    public void draw(Graphics g, Player player) {
-        Graphics2D g2 = (Graphics2D) g.create();
+    // Move toward the player along the flow field
+    public void steer(FlowField field) {
+        field.sample(x + width / 2.0, y + height / 2.0, this);
+        x += faceX * speed;
+        y += faceY * speed;
+    }
 
-        // rotate toward player
-        double angle = Math.atan2(
-                (player.y + player.height / 2.0) - (y + height / 2.0),
-                (player.x + player.width / 2.0) - (x + width / 2.0)
-        );
-        g2.translate(x + width / 2.0, y + height / 2.0);
-        g2.rotate(angle);
+    // Draw enemy rotated toward player
+    public void draw(SpriteBatch batch, Player player, double interp) {
+        double cx = prevX + (x - prevX) * interp + width / 2.0;
+        double cy = prevY + (y - prevY) * interp + height / 2.0;
 
-        if (SpriteManager.enemySprite != null) {
-            g2.drawImage(SpriteManager.enemySprite, -width / 2, -height / 2, width, height, null);
+        if (SpriteManager.enemyRotated != null) {
+            SpriteManager.enemyRotated.draw(batch, cx, cy, faceX, faceY);
         } else {
             // 🔴 Always visible fallback
-            g2.setColor(Color.RED);
-            g2.fillRect(-width / 2, -height / 2, width, height);
-
-            g2.setColor(Color.BLACK);
-            g2.drawRect(-width / 2, -height / 2, width, height);
-            System.out.println("⚠️ Enemy sprite is NULL → drawing fallback box at (" + x + "," + y + ")");
+            batch.fillRect(Color.RED, Color.BLACK, cx, cy, width, height, faceX, faceY);
         }
-        System.out.println("Drawing enemy at: " + x + ", " + y);
-        g2.dispose();
     }
 }
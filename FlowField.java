@@ -0,0 +1,145 @@
+/**
+ * Coarse grid of unit direction vectors toward a target (the player), rebuilt once
+ * per tick and sampled by every enemy instead of each one doing its own atan2/cos/sin.
+ * Each cell also keeps its distance to the target, so keep-distance behaviour
+ * (the ranged enemy's 120-180 band) is just a ring of cells in the same field.
+ *
+ * Obstacles would only change how build() fills the cells (e.g. a BFS outward from
+ * the target). In the open arena a cell's vector only depends on its offset from the
+ * target's cell, so those are precomputed once per offset and build() copies the
+ * window around the target into the cells: a few row copies instead of a sqrt per cell.
+ *
+ * Within EXACT_DISTANCE of the target (which covers the whole keep-distance band)
+ * and outside the covered area, samples use the exact direction and distance.
+ */
+public class FlowField {
+    // Anything closer than this to the target gets the exact direction and distance;
+    // it's the ranged enemy's KEEP_MAX, so its 120-180 band never sees the cells' error
+    private static final double EXACT_DISTANCE = 180;
+
+    private final int cellSize;
+    // Cells around the target's cell (Chebyshev distance) that take the exact path.
+    // A cell further out than this is at least exactRadius * cellSize away.
+    private final int exactRadius;
+    private final int originX, originY;
+    private final int cols, rows;
+
+    // Per cell: direction toward the target and distance from the cell center to the
+    // center of the target's cell
+    private final float[] dirX, dirY, dist;
+
+    // Open-arena vectors by offset from the target's cell, (2 * cols - 1) x (2 * rows - 1)
+    private final int offsetCols;
+    private final float[] offsetDirX, offsetDirY, offsetDist;
+
+    private double targetX, targetY;
+    private int targetCol, targetRow;
+    // Target position relative to its cell center
+    private double targetOffX, targetOffY;
+
+    /** Covers the arena plus margin on every side, like the collision grid. */
+    public FlowField(int width, int height, int cellSize, int margin) {
+        this.cellSize = cellSize;
+        this.exactRadius = (int) Math.ceil(EXACT_DISTANCE / cellSize);
+        this.originX = -margin;
+        this.originY = -margin;
+        this.cols = (width + 2 * margin + cellSize - 1) / cellSize;
+        this.rows = (height + 2 * margin + cellSize - 1) / cellSize;
+        this.dirX = new float[cols * rows];
+        this.dirY = new float[cols * rows];
+        this.dist = new float[cols * rows];
+
+        this.offsetCols = 2 * cols - 1;
+        int offsetRows = 2 * rows - 1;
+        this.offsetDirX = new float[offsetCols * offsetRows];
+        this.offsetDirY = new float[offsetCols * offsetRows];
+        this.offsetDist = new float[offsetCols * offsetRows];
+        int i = 0;
+        for (int r = 0; r < offsetRows; r++) {
+            for (int c = 0; c < offsetCols; c++, i++) {
+                // The target's cell is at offset (cols - 1, rows - 1)
+                setCell(offsetDirX, offsetDirY, offsetDist, i, cols - 1 - c, rows - 1 - r);
+            }
+        }
+    }
+
+    // Direction and distance for a cell whose center is (dc, dr) cells from the target's
+    private void setCell(float[] toX, float[] toY, float[] toDist, int i, int dc, int dr) {
+        double dx = dc * (double) cellSize;
+        double dy = dr * (double) cellSize;
+        double d = Math.sqrt(dx * dx + dy * dy);
+        toDist[i] = (float) d;
+        toX[i] = d > 0 ? (float) (dx / d) : 1;
+        toY[i] = d > 0 ? (float) (dy / d) : 0;
+    }
+
+    /** Point every cell at the target. Call once per tick before enemies sample it. */
+    public void build(double targetX, double targetY) {
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.targetCol = (int) Math.floor((targetX - originX) / cellSize);
+        this.targetRow = (int) Math.floor((targetY - originY) / cellSize);
+        this.targetOffX = targetX - (originX + (targetCol + 0.5) * cellSize);
+        this.targetOffY = targetY - (originY + (targetRow + 0.5) * cellSize);
+
+        if (targetCol < 0 || targetRow < 0 || targetCol >= cols || targetRow >= rows) {
+            // Off the grid the table doesn't reach; work each cell out instead
+            int cell = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++, cell++) {
+                    setCell(dirX, dirY, dist, cell, targetCol - c, targetRow - r);
+                }
+            }
+            return;
+        }
+
+        for (int r = 0; r < rows; r++) {
+            int from = (r - targetRow + rows - 1) * offsetCols + (cols - 1 - targetCol);
+            System.arraycopy(offsetDirX, from, dirX, r * cols, cols);
+            System.arraycopy(offsetDirY, from, dirY, r * cols, cols);
+            System.arraycopy(offsetDist, from, dist, r * cols, cols);
+        }
+    }
+
+    /**
+     * Direction from (x, y) toward the target, written into the enemy's facing
+     * vector. Returns the distance to the target: exact within EXACT_DISTANCE,
+     * otherwise the cell's distance corrected by both ends' offsets from their cell
+     * centers along the flow. That correction drops the sideways part of the
+     * offsets, so it can be off by up to cellSize^2 / distance: at most 3 px with
+     * 24 px cells, since cells are only used 8 cells (192 px) or more out.
+     * Only reads the field, so enemies can sample it from several threads.
+     */
+    public double sample(double x, double y, Enemy en) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        int r = (int) Math.floor((y - originY) / cellSize);
+
+        if (c < 0 || r < 0 || c >= cols || r >= rows
+                || Math.max(Math.abs(c - targetCol), Math.abs(r - targetRow)) <= exactRadius) {
+            double dx = targetX - x;
+            double dy = targetY - y;
+            double d = Math.sqrt(dx * dx + dy * dy);
+            if (d > 0) {
+                en.faceX = dx / d;
+                en.faceY = dy / d;
+            }
+            return d;
+        }
+
+        int cell = r * cols + c;
+        double fx = dirX[cell], fy = dirY[cell];
+        en.faceX = fx;
+        en.faceY = fy;
+        double offX = x - (originX + (c + 0.5) * cellSize) - targetOffX;
+        double offY = y - (originY + (r + 0.5) * cellSize) - targetOffY;
+        return dist[cell] - (fx * offX + fy * offY);
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getCellCount() {
+        return cols * rows;
+    }
+}
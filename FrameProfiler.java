@@ -0,0 +1,286 @@
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Debug overlay (F3) showing where frame time goes: smoothed timings for each sim
+ * phase (summed over all ticks in the frame) and each render stage, entity counts,
+ * GC activity and a frame-time graph.
+ *
+ * Probes are lap-style: begin once, then lap(PHASE) at the end of each phase charges
+ * the time since the previous lap to it. While the overlay is off every probe is a
+ * single boolean check, so they can stay in the hot paths.
+ */
+public class FrameProfiler {
+    // Sim phases
+    public static final int WAVE = 0;
+    public static final int PLAYER = 1;
+    public static final int BULLETS = 2;
+    public static final int BOSSES = 3;
+    public static final int ENEMIES = 4;
+    public static final int COLLISIONS = 5;
+    public static final int PARTICLES = 6;
+    // Render stages
+    public static final int RENDER_BACKGROUND = 7;
+    public static final int RENDER_ENTITIES = 8;
+    public static final int RENDER_PROJECTILES = 9;
+    public static final int RENDER_EFFECTS = 10;
+    public static final int RENDER_HUD = 11;
+    public static final int RENDER_OVERLAYS = 12;
+    public static final int PHASE_COUNT = 13;
+
+    private static final String[] PHASE_NAMES = {
+            "wave", "player", "bullets", "bosses", "enemies", "collisions", "particles",
+            "r.background", "r.entities", "r.projectiles", "r.effects", "r.hud", "r.overlays"
+    };
+
+    // Weight of the newest frame in the smoothed averages (~ last 30 frames)
+    private static final double SMOOTHING = 1.0 / 30;
+    private static final int HISTORY = 240;
+    private static final double GRAPH_MAX_MILLIS = 50;
+    private static final long GC_SAMPLE_NANOS = 1_000_000_000L;
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color PANEL = new Color(0, 0, 0, 170);
+    private static final Color SIM_COLOR = new Color(120, 200, 255);
+    private static final Color RENDER_COLOR = new Color(255, 200, 120);
+    private static final Color BUDGET_LINE = Color.GREEN.darker();
+    private static final GlyphAtlas TEXT = GlyphAtlas.get(FONT, Color.WHITE);
+    private static final GlyphAtlas SIM_TEXT = GlyphAtlas.get(FONT, SIM_COLOR);
+    private static final GlyphAtlas RENDER_TEXT = GlyphAtlas.get(FONT, RENDER_COLOR);
+
+    private volatile boolean enabled = false;
+
+    private long lapStart;
+    private final long[] frameNanos = new long[PHASE_COUNT];
+    private final double[] smoothedMillis = new double[PHASE_COUNT];
+    private int ticksThisFrame;
+    private double smoothedTicks;
+    private int batchCommands, batchStateChanges;
+    private int viewDrawn, viewCulled;
+    private int resolutionWidth, resolutionHeight;
+    private double resolutionScale = 1;
+    private String qualityLevel = "";
+    private long qualityPercentileNanos;
+
+    private boolean frameOpen = false;
+    private long frameStart;
+    private final float[] frameHistory = new float[HISTORY]; // ms between frames
+    private int historyPos = 0;
+    private double smoothedFrameMillis;
+
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private long gcCount, gcMillis;
+    private long gcCountPerSec, gcMillisPerSec;
+    private long lastGcSample;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            // Start from a clean slate so stale samples don't skew the first second
+            Arrays.fill(smoothedMillis, 0);
+            Arrays.fill(frameHistory, 0);
+            frameOpen = false;
+            lastGcSample = 0;
+        }
+        this.enabled = enabled;
+    }
+
+    public void toggle() {
+        setEnabled(!enabled);
+    }
+
+    /** Start of a frame (before any ticks): records the frame interval. */
+    public void beginFrame() {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        if (frameStart != 0) {
+            float millis = (now - frameStart) / 1_000_000f;
+            frameHistory[historyPos] = millis;
+            historyPos = (historyPos + 1) % HISTORY;
+            smoothedFrameMillis += (millis - smoothedFrameMillis) * SMOOTHING;
+        }
+        frameStart = now;
+        Arrays.fill(frameNanos, 0);
+        ticksThisFrame = 0;
+        frameOpen = true;
+    }
+
+    /** Start of a sim tick or a render pass; the next lap() measures from here. */
+    public void begin() {
+        if (!enabled) return;
+        lapStart = System.nanoTime();
+    }
+
+    /** Sprite batch totals for the frame just rendered. */
+    public void recordBatch(int commands, int stateChanges) {
+        batchCommands = commands;
+        batchStateChanges = stateChanges;
+    }
+
+    /** Viewport cull counts for the frame just rendered. */
+    public void recordCulling(int drawn, int culled) {
+        viewDrawn = drawn;
+        viewCulled = culled;
+    }
+
+    /** Size of the internal render target and its scale of the output resolution. */
+    public void recordResolution(int width, int height, double scale) {
+        resolutionWidth = width;
+        resolutionHeight = height;
+        resolutionScale = scale;
+    }
+
+    /** Effects quality level and the frame-time percentile it was judged on. */
+    public void recordQuality(String level, long percentileNanos) {
+        qualityLevel = level;
+        qualityPercentileNanos = percentileNanos;
+    }
+
+    public void beginTick() {
+        if (!enabled) return;
+        ticksThisFrame++;
+        lapStart = System.nanoTime();
+    }
+
+    /** Charge the time since the last begin()/lap() to the given phase. */
+    public void lap(int phase) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        frameNanos[phase] += now - lapStart;
+        lapStart = now;
+    }
+
+    /** End of a drawn frame: fold this frame's timings into the averages. */
+    public void endFrame() {
+        if (!enabled || !frameOpen) return;
+        frameOpen = false;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            smoothedMillis[i] += (frameNanos[i] / 1_000_000.0 - smoothedMillis[i]) * SMOOTHING;
+        }
+        smoothedTicks += (ticksThisFrame - smoothedTicks) * SMOOTHING;
+        sampleGc();
+    }
+
+    private void sampleGc() {
+        long now = System.nanoTime();
+        if (lastGcSample != 0 && now - lastGcSample < GC_SAMPLE_NANOS) return;
+
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        if (lastGcSample != 0) {
+            gcCountPerSec = count - gcCount;
+            gcMillisPerSec = millis - gcMillis;
+        }
+        gcCount = count;
+        gcMillis = millis;
+        lastGcSample = now;
+    }
+
+    /** Draws the overlay in the top-left corner (below the HUD). Numbers go straight to glyphs, no Strings. */
+    public void draw(Graphics2D g, GameWorld world) {
+        if (!enabled) return;
+        int lineHeight = TEXT.getHeight();
+
+        int x = 10, y = 60, w = 360;
+        int lines = PHASE_COUNT + 12;
+        int graphHeight = 60;
+        g.setColor(PANEL);
+        g.fillRect(x, y, w, lines * lineHeight + graphHeight + 16);
+
+        int tx = x + 6, ty = y + lineHeight;
+        int cx = TEXT.draw(g, "frame ", tx, ty);
+        cx = TEXT.draw(g, smoothedFrameMillis, 2, cx, ty);
+        cx = TEXT.draw(g, " ms (", cx, ty);
+        cx = TEXT.draw(g, smoothedFrameMillis > 0 ? 1000 / smoothedFrameMillis : 0, 0, cx, ty);
+        cx = TEXT.draw(g, " fps)  ticks/frame ", cx, ty);
+        TEXT.draw(g, smoothedTicks, 2, cx, ty);
+        ty += lineHeight;
+
+        double simTotal = 0, renderTotal = 0;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            if (i < RENDER_BACKGROUND) simTotal += smoothedMillis[i];
+            else renderTotal += smoothedMillis[i];
+        }
+        // Timings right-aligned in a column after the longest phase name
+        int valueRight = tx + TEXT.stringWidth("r.projectiles   0.000");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            GlyphAtlas text = i < RENDER_BACKGROUND ? SIM_TEXT : RENDER_TEXT;
+            text.draw(g, PHASE_NAMES[i], tx, ty);
+            text.draw(g, " ms", text.drawRight(g, smoothedMillis[i], 3, valueRight, ty), ty);
+            ty += lineHeight;
+        }
+        cx = TEXT.draw(g, "sim ", tx, ty);
+        cx = TEXT.draw(g, " ms   render ", TEXT.draw(g, simTotal, 3, cx, ty), ty);
+        TEXT.draw(g, " ms", TEXT.draw(g, renderTotal, 3, cx, ty), ty);
+        ty += lineHeight;
+
+        ProjectileSystem p = world.projectiles;
+        cx = TEXT.draw(g, world.enemies.size(), TEXT.draw(g, "enemies ", tx, ty), ty);
+        TEXT.draw(g, world.bosses.size(), TEXT.draw(g, "  bosses ", cx, ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, p.count(SpatialGrid.PLAYER_BULLETS), TEXT.draw(g, "bullets ", tx, ty), ty);
+        cx = TEXT.draw(g, p.count(SpatialGrid.ENEMY_BULLETS), TEXT.draw(g, "/", cx, ty), ty);
+        cx = TEXT.draw(g, p.count(SpatialGrid.ORBS), TEXT.draw(g, "  orbs ", cx, ty), ty);
+        TEXT.draw(g, ")", TEXT.draw(g, p.getCapacity(), TEXT.draw(g, "  (cap ", cx, ty), ty), ty);
+        ty += lineHeight;
+        ParticleSystem particles = world.particles;
+        cx = TEXT.draw(g, particles.size(), TEXT.draw(g, "particles ", tx, ty), ty);
+        cx = TEXT.draw(g, particles.getCapacity(), TEXT.draw(g, "/", cx, ty), ty);
+        TEXT.draw(g, particles.getDropped(), TEXT.draw(g, "  dropped ", cx, ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, gcCount, TEXT.draw(g, "gc ", tx, ty), ty);
+        cx = TEXT.draw(g, gcMillis, TEXT.draw(g, " (", cx, ty), ty);
+        cx = TEXT.draw(g, gcCountPerSec, TEXT.draw(g, " ms)  last s: ", cx, ty), ty);
+        TEXT.draw(g, " ms)", TEXT.draw(g, gcMillisPerSec, TEXT.draw(g, " (", cx, ty), ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, batchCommands, TEXT.draw(g, "batch ", tx, ty), ty);
+        TEXT.draw(g, " state changes", TEXT.draw(g, batchStateChanges, TEXT.draw(g, " cmds  ", cx, ty), ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, viewDrawn, TEXT.draw(g, "view drawn ", tx, ty), ty);
+        TEXT.draw(g, viewCulled, TEXT.draw(g, "  culled ", cx, ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, resolutionWidth, TEXT.draw(g, "resolution ", tx, ty), ty);
+        cx = TEXT.draw(g, resolutionHeight, TEXT.draw(g, "x", cx, ty), ty);
+        TEXT.draw(g, "%)", TEXT.draw(g, resolutionScale * 100, 0, TEXT.draw(g, " (", cx, ty), ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, qualityLevel, TEXT.draw(g, "quality ", tx, ty), ty);
+        cx = TEXT.draw(g, qualityPercentileNanos / 1_000_000.0, 2, TEXT.draw(g, "  (p95 ", cx, ty), ty);
+        TEXT.draw(g, " ms)", cx, ty);
+        ty += lineHeight;
+        Runtime rt = Runtime.getRuntime();
+        cx = TEXT.draw(g, (rt.totalMemory() - rt.freeMemory()) >> 20, TEXT.draw(g, "heap ", tx, ty), ty);
+        TEXT.draw(g, " MB", TEXT.draw(g, rt.maxMemory() >> 20, TEXT.draw(g, " / ", cx, ty), ty), ty);
+        ty += lineHeight;
+        cx = TEXT.draw(g, world.isParallel() ? "on" : "off", TEXT.draw(g, "parallel ", tx, ty), ty);
+        TEXT.draw(g, world.getCurrentWave(), TEXT.draw(g, "  wave ", cx, ty), ty);
+        ty += 8;
+
+        drawGraph(g, tx, ty, w - 12, graphHeight);
+    }
+
+    // Frame intervals, oldest on the left; the line marks a 60 fps budget
+    private void drawGraph(Graphics2D g2, int x, int y, int w, int h) {
+        g2.setColor(Color.DARK_GRAY);
+        g2.drawRect(x, y, w, h);
+        int budgetY = y + h - (int) (h * (1000.0 / GameWorld.TICKS_PER_SECOND) / GRAPH_MAX_MILLIS);
+        g2.setColor(BUDGET_LINE);
+        g2.drawLine(x, budgetY, x + w, budgetY);
+
+        g2.setColor(Color.WHITE);
+        for (int i = 0; i < HISTORY && i < w; i++) {
+            float millis = frameHistory[(historyPos + i) % HISTORY];
+            int barHeight = (int) Math.min(h, h * millis / GRAPH_MAX_MILLIS);
+            int bx = x + w - HISTORY + i;
+            if (bx > x && barHeight > 0) g2.drawLine(bx, y + h, bx, y + h - barHeight);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * Heavyweight drawing surface for active rendering. The game loop draws straight
+ * into the back buffer of a BufferStrategy and presents it with show(), instead
+ * of asking Swing to repaint() whenever it gets around to it.
+ */
+public class GameCanvas extends Canvas {
+    private static final int NUM_BUFFERS = 3;
+
+    private final boolean pageFlipping;
+    private BufferStrategy strategy;
+    private int strategyWidth, strategyHeight;
+
+    public GameCanvas(boolean pageFlipping) {
+        this.pageFlipping = pageFlipping;
+        setIgnoreRepaint(true); // we paint ourselves, from the loop thread
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * Draws and presents one frame. Returns false when the canvas isn't on screen
+     * yet (no peer to create a BufferStrategy for), so the caller can just skip it.
+     */
+    public boolean renderFrame(Consumer<Graphics2D> painter) {
+        if (strategy != null && (getWidth() != strategyWidth || getHeight() != strategyHeight)) {
+            // Resized: the buffers were made for the old size
+            strategy.dispose();
+            strategy = null;
+        }
+        if (strategy == null && !createStrategy()) return false;
+
+        // Standard BufferStrategy loop: redraw while the back buffer gets restored
+        // under us, and redo the whole frame if the contents were lost on show().
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    painter.accept(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+
+    private boolean createStrategy() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) return false;
+
+        if (pageFlipping) {
+            // Exclusive fullscreen: ask for real page flipping, fall back to whatever we get
+            try {
+                createBufferStrategy(NUM_BUFFERS, new BufferCapabilities(
+                        new ImageCapabilities(true), new ImageCapabilities(true),
+                        BufferCapabilities.FlipContents.UNDEFINED));
+            } catch (AWTException e) {
+                createBufferStrategy(NUM_BUFFERS);
+            }
+        } else {
+            createBufferStrategy(NUM_BUFFERS);
+        }
+        strategy = getBufferStrategy();
+        strategyWidth = getWidth();
+        strategyHeight = getHeight();
+        return strategy != null;
+    }
+
+    @Override
+    public void removeNotify() {
+        // The peer (and its buffers) go away with the component
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+        super.removeNotify();
+    }
+}
@@ -1,44 +1,99 @@
+import java.awt.GraphicsDevice;
+import java.awt.Window;
 import javax.swing.*;
 
 public class GameMain extends JFrame {
+    // Render mode is picked at startup: -Dtdsg.render=active switches from Swing
+    // repaint() to BufferStrategy rendering, -Dtdsg.fullscreen=true (active only)
+    // takes the screen exclusively and page-flips when the platform supports it.
+    public static final boolean ACTIVE_RENDERING = "active".equalsIgnoreCase(System.getProperty("tdsg.render"));
+    public static final boolean FULLSCREEN_REQUESTED = ACTIVE_RENDERING && Boolean.getBoolean("tdsg.fullscreen");
+
     private StartMenuPanel startMenuPanel;
     private GamePanel gamePanel;
 
     private String username;
     private DatabaseManager db;
+    private boolean fullscreen = false;
+
+    // What the UI shows about the user; read and replaced on the EDT only
+    private UserProfile profile;
+    private final DatabaseManager.StatsListener statsListener = stats -> {
+        if (stats.username.equals(username)) SwingUtilities.invokeLater(() -> applyStats(stats));
+    };
 
     public GameMain(String username, DatabaseManager db) {
         super("Trigger Tracker - Player: " + username);
         this.username = username;
         this.db = db;
+        if (db != null) {
+            profile = db.loadProfile(username);
+            db.addStatsListener(statsListener);
+        }
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setResizable(false);
+        setResizable(true); // the game scales to any window size
 
-        // Load sprites once
-        SpriteManager.loadSprites();
+        // Sprites load in the background (once per process); the menu shows right away.
+        // The skin is picked per login, so the last user's doesn't carry over.
+        SpriteManager.selectPlayerSkin(profile != null ? profile.getSelectedSkin() : "default");
+        SpriteManager.loadAsync();
+
+        GraphicsDevice device = getGraphicsConfiguration().getDevice();
+        if (FULLSCREEN_REQUESTED && device.isFullScreenSupported()) {
+            fullscreen = true;
+            setUndecorated(true);
+        }
 
         // Start with menu
         showStartMenu();
 
-        pack();
-        setLocationRelativeTo(null);
-        setVisible(true);
+        if (fullscreen) {
+            device.setFullScreenWindow(this);
+        } else {
+            pack();
+            setLocationRelativeTo(null);
+            setVisible(true);
+        }
+    }
+
+    public boolean isFullscreen() {
+        return fullscreen;
+    }
+
+    // Fullscreen windows keep the screen size; windowed ones shrink-wrap the current panel
+    private void refreshLayout() {
+        if (!fullscreen) pack();
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void dispose() {
+        if (gamePanel != null) gamePanel.stopGame();
+        if (db != null) {
+            db.removeStatsListener(statsListener);
+            // The shop and leaderboard windows of this session use our connection
+            for (Window window : Window.getWindows()) {
+                if (window instanceof ShopWindow || window instanceof LeaderboardWindow) window.dispose();
+            }
+            db.close(); // lets queued run results finish first; the next login opens its own
+        }
+        if (fullscreen) getGraphicsConfiguration().getDevice().setFullScreenWindow(null);
+        super.dispose();
     }
 
     // === Show Start Menu ===
     public void showStartMenu() {
         if (gamePanel != null) {
+            gamePanel.stopGame(); // stop the loop before its canvas loses its peer
             getContentPane().remove(gamePanel);
-            gamePanel.stopGame();
             gamePanel = null;
         }
 
         startMenuPanel = new StartMenuPanel(this);
         getContentPane().add(startMenuPanel);
-        pack();
-        revalidate();
-        repaint();
+        refreshLayout();
     }
 
     // === Show Game Panel ===
@@ -48,18 +103,17 @@ public class GameMain extends JFrame {
             startMenuPanel = null;
         }
 
+        // Normally done long before anyone clicks NEW GAME; otherwise wait for the rest
+        SpriteManager.loadSprites();
+
         // ✅ Pass (this, username, db) to GamePanel
         gamePanel = new GamePanel(this, username, db);
         getContentPane().add(gamePanel);
-        pack();
-        revalidate();
-        repaint();
+        refreshLayout();
 
         // ✅ Ensure KeyListener works
-        SwingUtilities.invokeLater(() -> {
-            gamePanel.setFocusable(true);
-            gamePanel.requestFocusInWindow();
-        });
+        GamePanel panel = gamePanel;
+        SwingUtilities.invokeLater(panel::requestGameFocus);
 
         gamePanel.startGame();
     }
@@ -72,8 +126,46 @@ public class GameMain extends JFrame {
     public DatabaseManager getDatabaseManager() {
         return db;
     }
+
+    /** The cached profile (reloaded if it was invalidated), or null for guests. */
+    public UserProfile getProfile() {
+        if (profile == null && db != null) profile = db.loadProfile(username);
+        return profile;
+    }
+
+    /** Drops the cached profile; the next getProfile() reads it from the database again. */
+    public void invalidateProfile() {
+        profile = null;
+    }
+
+    // Someone changed our highscore or coins (a finished run, another window)
+    private void applyStats(DatabaseManager.UserStats stats) {
+        if (profile != null) profile = profile.withStats(stats.highscore, stats.currency);
+    }
+
+    /** Buys a skin, keeping the profile in step. False if the coins didn't cover it. */
+    public boolean buySkin(String skinId, int price) {
+        if (db == null) return false;
+        int balance = db.buySkin(username, skinId, price);
+        if (balance < 0) {
+            invalidateProfile(); // our balance was out of date
+            return false;
+        }
+        UserProfile current = getProfile();
+        if (current != null) profile = current.withPurchase(skinId, balance);
+        return true;
+    }
+
+    public void selectSkin(String skinId) {
+        SpriteManager.selectPlayerSkin(skinId);
+        if (db == null) return;
+        db.setSelectedSkin(username, skinId);
+        UserProfile current = getProfile();
+        if (current != null) profile = current.withSelectedSkin(skinId);
+    }
     
     public static void main(String[] args) {
+        AssetLoader.get().start(); // decode images while the player logs in
         SwingUtilities.invokeLater(LoginWindow::new); // Show the login window first
     }
 
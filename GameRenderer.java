@@ -0,0 +1,290 @@
+import java.awt.*;
+
+/**
+ * Draws a GameWorld. Shared by the passive (JPanel.paintComponent) and the
+ * active (BufferStrategy) render paths so both produce the same picture.
+ *
+ * A frame is composited back to front: the pre-scaled background from the atlas,
+ * the entities, projectiles and effects (each stage one sorted SpriteBatch flush
+ * through the same Graphics), then the HUD and overlays, which are cached RenderLayers redrawn
+ * only when what they show changes (score, health, boss health, pause selection).
+ */
+public class GameRenderer {
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font BOSS_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 50);
+    private static final Font RESTART_FONT = new Font("Arial", Font.PLAIN, 20);
+    private static final Font PAUSE_FONT = new Font("Arial", Font.BOLD, 24);
+    // Text is drawn from glyph sheets rasterized once per font and colour
+    private static final GlyphAtlas HUD_TEXT = GlyphAtlas.get(HUD_FONT, Color.WHITE);
+    private static final GlyphAtlas BOSS_TEXT = GlyphAtlas.get(BOSS_FONT, Color.WHITE);
+    private static final GlyphAtlas GAME_OVER_TEXT = GlyphAtlas.get(GAME_OVER_FONT, Color.WHITE);
+    private static final GlyphAtlas RESTART_TEXT = GlyphAtlas.get(RESTART_FONT, Color.WHITE);
+    private static final GlyphAtlas PAUSE_TEXT = GlyphAtlas.get(PAUSE_FONT, Color.WHITE);
+    private static final GlyphAtlas PAUSE_SELECTED_TEXT = GlyphAtlas.get(PAUSE_FONT, Color.YELLOW);
+    private static final Color GAME_OVER_TINT = new Color(255, 0, 0, 180);
+    private static final Color PAUSE_DIM = new Color(0, 0, 0, 150);
+    private static final BasicStroke PAUSE_BORDER = new BasicStroke(3);
+    private static final String[] PAUSE_OPTIONS = {"Resume", "Main Menu"};
+
+    private static final int HUD_HEIGHT = 52;
+    private static final int BOSS_BAR_WIDTH = 400, BOSS_BAR_HEIGHT = 20;
+
+    private final String username;
+    private final SpriteBatch batch = new SpriteBatch();
+    private final QualityGovernor quality;
+    private final Viewport viewport = new Viewport();
+
+    private int layerWidth, layerHeight;
+    private RenderLayer hudLayer, bossBarLayer, gameOverLayer, pauseLayer;
+    // What the cached layers currently show
+    private int hudScore, hudHealth;
+    private int bossHealth, bossMaxHealth;
+    private int pauseLayerSelection;
+
+    // Flash border thickness at full strength (FLASH_BORDER quality)
+    private static final int FLASH_BORDER_WIDTH = 24;
+
+    /** A renderer whose quality stays at FULL unless someone feeds its governor frame times. */
+    public GameRenderer(String username) {
+        this(username, new QualityGovernor(GamePanel.TICK_NANOS));
+    }
+
+    public GameRenderer(String username, QualityGovernor quality) {
+        this.username = username;
+        this.quality = quality;
+    }
+
+    public QualityGovernor getQuality() {
+        return quality;
+    }
+
+    /**
+     * Draws one frame of the world into g, which covers the world's area starting at (0, 0).
+     * interp is how far between the previous and current sim tick we are (0..1).
+     */
+    public void render(Graphics2D g, GameWorld world, double interp, boolean paused, int pauseSelection) {
+        int width = world.getWidth();
+        int height = world.getHeight();
+        Player player = world.player;
+        FrameProfiler profiler = world.profiler;
+        profiler.begin();
+
+        int shakeX = 0, shakeY = 0;
+        if (world.screenshakeFrames > 0 && !quality.at(QualityGovernor.NO_SHAKE)) {
+            shakeX = (int) (Math.random() * 8 - 4);
+            shakeY = (int) (Math.random() * 8 - 4);
+        }
+
+        batch.setAlphaEnabled(!quality.at(QualityGovernor.OPAQUE));
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.translate(shakeX, shakeY);
+        // Shake moves the picture, so the window onto the world moves the other way
+        viewport.set(-shakeX, -shakeY, width, height);
+
+        // Draw background
+        if (SpriteManager.bgRegion != null) {
+            SpriteManager.bgRegion.draw(g2, 0, 0);
+        } else {
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, width, height);
+        }
+        profiler.lap(FrameProfiler.RENDER_BACKGROUND);
+
+        // Draw game entities, interpolated between the previous and current tick.
+        // Each stage records into the batch and is flushed before the next goes on top.
+        player.draw(batch, interp);
+        for (Enemy en : world.enemies) {
+            double cx = en.prevX + (en.x - en.prevX) * interp + en.width / 2.0;
+            double cy = en.prevY + (en.y - en.prevY) * interp + en.height / 2.0;
+            // 0.75 of the size covers the sprite at any rotation
+            if (viewport.isVisible(cx, cy, Math.max(en.width, en.height) * 0.75)) en.draw(batch, player, interp);
+        }
+        // Bosses spawn inside the arena and are only ever a handful, so they aren't culled
+        for (Boss b : world.bosses) b.draw(batch, interp);
+        batch.flush(g2);
+        profiler.lap(FrameProfiler.RENDER_ENTITIES);
+
+        world.projectiles.draw(batch, viewport, interp);
+        batch.flush(g2);
+        profiler.lap(FrameProfiler.RENDER_PROJECTILES);
+
+        // Explosions and other effects, pre-faded frames in one pass
+        world.particles.draw(batch, viewport, interp, quality.at(QualityGovernor.FEWER_EFFECTS) ? 2 : 1,
+                quality.at(QualityGovernor.OPAQUE));
+        batch.flush(g2);
+        profiler.lap(FrameProfiler.RENDER_EFFECTS);
+
+        // HUD and overlays are cached layers; shake only moves where they're composited
+        ensureLayers(width, height);
+        updateHud(world);
+        hudLayer.draw(g, shakeX, shakeY);
+        if (!world.bosses.isEmpty()) {
+            updateBossBar(world);
+            bossBarLayer.draw(g, shakeX, shakeY);
+        }
+        profiler.lap(FrameProfiler.RENDER_HUD);
+
+        // Draw game over overlay
+        if (world.isGameOver()) {
+            if (!gameOverLayer.isValid()) drawGameOverOverlay(gameOverLayer, width, height);
+            gameOverLayer.draw(g, shakeX, shakeY);
+        }
+
+        // Draw damage flash
+        if (world.damageFlashFrames > 0) {
+            float strength = world.damageFlashFrames / (float) GameWorld.DAMAGE_FLASH_DURATION;
+            if (quality.at(QualityGovernor.FLASH_BORDER)) {
+                // Opaque frame around the edge that thins out as the flash fades
+                int t = Math.max(1, (int) (FLASH_BORDER_WIDTH * strength));
+                g.setColor(Color.RED);
+                g.fillRect(0, 0, width, t);
+                g.fillRect(0, height - t, width, t);
+                g.fillRect(0, t, t, height - 2 * t);
+                g.fillRect(width - t, t, t, height - 2 * t);
+            } else {
+                Graphics2D flash = (Graphics2D) g.create();
+                flash.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, strength * 0.5f));
+                flash.setColor(Color.RED);
+                flash.fillRect(0, 0, width, height);
+                flash.dispose();
+            }
+        }
+
+        // Draw pause menu
+        if (paused) {
+            if (!pauseLayer.isValid() || pauseLayerSelection != pauseSelection) {
+                drawPauseMenu(pauseLayer, width, height, pauseSelection);
+                pauseLayerSelection = pauseSelection;
+            }
+            pauseLayer.draw(g, 0, 0);
+        }
+
+        g2.dispose();
+        profiler.lap(FrameProfiler.RENDER_OVERLAYS);
+
+        // Debug overlay goes on top, outside the shake and outside its own timings
+        profiler.recordBatch(batch.getFlushedCommands(), batch.getStateChanges());
+        profiler.recordCulling(viewport.getDrawn(), viewport.getCulled());
+        profiler.recordQuality(quality.getLevelName(), quality.getPercentileNanos());
+        batch.resetStats();
+        profiler.endFrame();
+        profiler.draw(g, world);
+    }
+
+    // (Re)creates the layers for the world's size
+    private void ensureLayers(int width, int height) {
+        if (hudLayer != null && layerWidth == width && layerHeight == height) return;
+        layerWidth = width;
+        layerHeight = height;
+        hudLayer = new RenderLayer(0, 0, width, HUD_HEIGHT);
+        bossBarLayer = new RenderLayer((width - BOSS_BAR_WIDTH) / 2, height - BOSS_BAR_HEIGHT - 40,
+                BOSS_BAR_WIDTH + 1, BOSS_BAR_HEIGHT + 21);
+        gameOverLayer = new RenderLayer(0, 0, width, height);
+        pauseLayer = new RenderLayer(0, 0, width, height);
+        hudScore = hudHealth = bossHealth = bossMaxHealth = -1;
+    }
+
+    // Redraws the HUD layer if the score or the player's health changed since last frame
+    private void updateHud(GameWorld world) {
+        Player player = world.player;
+        int score = world.getScore();
+        if (hudLayer.isValid() && score == hudScore && player.health == hudHealth) return;
+        hudScore = score;
+        hudHealth = player.health;
+
+        Graphics2D g2 = hudLayer.redraw();
+        HUD_TEXT.draw(g2, username, HUD_TEXT.draw(g2, "Player: ", 10, 20), 20);
+        HUD_TEXT.draw(g2, score, HUD_TEXT.draw(g2, "Score: ", 10, 45), 45);
+
+        int barWidth = 150, barHeight = 20;
+        int xPos = world.getWidth() - barWidth - 20, yPos = 20;
+
+        g2.setColor(Color.GRAY);
+        g2.fillRect(xPos, yPos, barWidth, barHeight);
+
+        g2.setColor(Color.RED);
+        int healthWidth = (int) ((player.health / (double) player.maxHealth) * barWidth);
+        g2.fillRect(xPos, yPos, healthWidth, barHeight);
+
+        g2.setColor(Color.WHITE);
+        g2.drawRect(xPos, yPos, barWidth, barHeight);
+        g2.dispose();
+    }
+
+    // Redraws the combined boss health bar if the bosses' total health changed
+    private void updateBossBar(GameWorld world) {
+        int totalMaxHealth = 0, totalHealth = 0;
+        for (Boss b : world.bosses) {
+            totalMaxHealth += b.maxHealth;
+            totalHealth += b.health;
+        }
+        if (bossBarLayer.isValid() && totalHealth == bossHealth && totalMaxHealth == bossMaxHealth) return;
+        bossHealth = totalHealth;
+        bossMaxHealth = totalMaxHealth;
+
+        int xPos = (world.getWidth() - BOSS_BAR_WIDTH) / 2, yPos = world.getHeight() - BOSS_BAR_HEIGHT - 20;
+        Graphics2D g2 = bossBarLayer.redraw();
+
+        g2.setColor(Color.GRAY);
+        g2.fillRect(xPos, yPos, BOSS_BAR_WIDTH, BOSS_BAR_HEIGHT);
+
+        g2.setColor(Color.RED);
+        int healthWidth = (int) ((totalHealth / (double) totalMaxHealth) * BOSS_BAR_WIDTH);
+        g2.fillRect(xPos, yPos, healthWidth, BOSS_BAR_HEIGHT);
+
+        g2.setColor(Color.WHITE);
+        g2.drawRect(xPos, yPos, BOSS_BAR_WIDTH, BOSS_BAR_HEIGHT);
+
+        BOSS_TEXT.draw(g2, "Boss Health", xPos + 10, yPos - 5);
+        g2.dispose();
+    }
+
+    private static void drawGameOverOverlay(RenderLayer layer, int width, int height) {
+        Graphics2D g2 = layer.redraw();
+        g2.setColor(GAME_OVER_TINT);
+        g2.fillRect(0, 0, width, height);
+
+        String msg = "GAME OVER";
+        int msgX = (width - GAME_OVER_TEXT.stringWidth(msg)) / 2;
+        int msgY = height / 2;
+        GAME_OVER_TEXT.draw(g2, msg, msgX, msgY);
+
+        String restartMsg = "Press ENTER to restart";
+        int restartX = (width - RESTART_TEXT.stringWidth(restartMsg)) / 2;
+        RESTART_TEXT.draw(g2, restartMsg, restartX, msgY + 40);
+        g2.dispose();
+    }
+
+    private static void drawPauseMenu(RenderLayer layer, int width, int height, int pauseSelection) {
+        Graphics2D g2d = layer.redraw();
+
+        g2d.setColor(PAUSE_DIM);
+        g2d.fillRect(0, 0, width, height);
+
+        int boxWidth = 300, boxHeight = 150;
+        int boxX = (width - boxWidth) / 2, boxY = (height - boxHeight) / 2;
+
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(PAUSE_BORDER);
+        g2d.drawRoundRect(boxX, boxY, boxWidth, boxHeight, 20, 20);
+
+        int optionYStart = boxY + 50;
+
+        for (int i = 0; i < PAUSE_OPTIONS.length; i++) {
+            int optionX = boxX + 50;
+            int optionY = optionYStart + i * 40;
+            if (pauseSelection == i) {
+                int textX = PAUSE_SELECTED_TEXT.draw(g2d, "▶ ", optionX, optionY);
+                PAUSE_SELECTED_TEXT.draw(g2d, PAUSE_OPTIONS[i], textX, optionY);
+            } else {
+                PAUSE_TEXT.draw(g2d, PAUSE_OPTIONS[i], optionX + 24, optionY);
+            }
+        }
+
+        g2d.dispose();
+    }
+}
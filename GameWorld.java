@@ -0,0 +1,323 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Headless simulation core: owns every entity plus the wave state and advances
+ * them one fixed tick at a time. No Swing and no sprites in here, so a world can
+ * be driven by GamePanel, a benchmark or a soak test, and several can run in the
+ * same JVM side by side.
+ */
+public class GameWorld {
+    // Simulation rate. Every per-tick speed/timer in the entities is relative to this.
+    public static final int TICKS_PER_SECOND = 60;
+
+    public static final int DAMAGE_FLASH_DURATION = 10;
+
+    final int width, height;
+    final Random random;
+
+    final Player player;
+    final ProjectileSystem projectiles = new ProjectileSystem(256);
+    final ArrayList<Enemy> enemies = new ArrayList<>();
+    final ArrayList<Boss> bosses = new ArrayList<>();
+    final WaveManager waveManager = new WaveManager();
+
+    // Explosions and other effects; fixed capacity, extra spawns are dropped
+    private static final int PARTICLE_CAPACITY = 512;
+    final ParticleSystem particles = new ParticleSystem(PARTICLE_CAPACITY);
+
+    // Collision broad-phase, rebuilt every tick
+    private static final int GRID_CELL_SIZE = 64;
+    private static final int GRID_MARGIN = 128;
+    private final SpatialGrid grid;
+
+    // Enemy pursuit directions, rebuilt every tick
+    private static final int FLOW_CELL_SIZE = 24;
+    private final FlowField flowField;
+
+    // Per-phase timings for the F3 overlay; every probe is a no-op while it's off
+    final FrameProfiler profiler = new FrameProfiler();
+
+    // Opt-in multi-core tick (-Dtdsg.parallel=true); results are identical either way
+    private boolean parallel = Boolean.getBoolean("tdsg.parallel");
+    private int parallelThreshold = ParallelTick.DEFAULT_THRESHOLD;
+
+    private int score;
+    private boolean gameOver;
+    private long tickCount;
+    int screenshakeFrames = 0;
+    int damageFlashFrames = 0;
+
+    public GameWorld(int width, int height) {
+        this(width, height, System.nanoTime());
+    }
+
+    // Same seed + same inputs = same game, which is what benchmarks and replays rely on
+    public GameWorld(int width, int height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.random = new Random(seed);
+        this.player = new Player(width / 2, height / 2);
+        this.grid = new SpatialGrid(width, height, GRID_CELL_SIZE, GRID_MARGIN);
+        this.flowField = new FlowField(width, height, FLOW_CELL_SIZE, GRID_MARGIN);
+    }
+
+    public void reset() {
+        projectiles.clear();
+        clearEnemies();
+        clearBosses();
+        particles.clear();
+
+        score = 0;
+        gameOver = false;
+        tickCount = 0;
+        screenshakeFrames = 0;
+        damageFlashFrames = 0;
+
+        player.x = width / 2.0;
+        player.y = height / 2.0;
+        player.vx = player.vy = 0;
+        player.savePosition();
+        player.health = player.maxHealth;
+
+        waveManager.startWave(1, this);
+    }
+
+    /** Advance the simulation by one fixed tick; queued shots in the input are consumed. */
+    public void tick(InputState input) {
+        if (gameOver) return;
+        tickCount++;
+
+        profiler.beginTick();
+        savePositions();
+
+        waveManager.updateWave(this);
+        profiler.lap(FrameProfiler.WAVE);
+
+        player.update(input, width, height);
+        for (int i = 0; i < input.getShotCount(); i++) {
+            shootPlayerBullet(input.getShotX(i), input.getShotY(i));
+        }
+        input.clearShots();
+
+        if (damageFlashFrames > 0) {
+            damageFlashFrames--;
+        }
+        profiler.lap(FrameProfiler.PLAYER);
+
+        updateBosses();
+        profiler.lap(FrameProfiler.BOSSES);
+        updateEnemies();
+        profiler.lap(FrameProfiler.ENEMIES);
+
+        collide();
+
+        particles.update();
+
+        if (screenshakeFrames > 0) {
+            screenshakeFrames--;
+        }
+        profiler.lap(FrameProfiler.PARTICLES);
+
+        if (player.health <= 0) {
+            gameOver = true;
+            clearBosses();
+        }
+    }
+
+    // Projectiles in flight are left alone; they outlive whoever fired them
+    void clearEnemies() {
+        enemies.clear();
+    }
+
+    // Remove all bosses (their defeat bursts are particles and fade out on their own)
+    void clearBosses() {
+        bosses.clear();
+    }
+
+    private void shootPlayerBullet(int targetX, int targetY) {
+        double centerX = player.x + player.width / 2.0;
+        double centerY = player.y + player.height / 2.0;
+        double angle = Math.atan2(targetY - centerY, targetX - centerX);
+
+        double bulletX = centerX + Math.cos(angle) * player.width / 2.0 - 2;
+        double bulletY = centerY + Math.sin(angle) * player.height / 2.0 - 2;
+
+        projectiles.spawn(SpatialGrid.PLAYER_BULLETS, ProjectileSystem.OWNER_PLAYER, bulletX, bulletY,
+                angle, ProjectileSystem.PLAYER_BULLET_SPEED, ProjectileSystem.BULLET_SIZE);
+    }
+
+    void addExplosion(double x, double y) {
+        particles.spawnBlast(x, y);
+    }
+
+    // Mark an enemy as killed by the player; it's removed after the collision passes
+    void killEnemy(Enemy en, int points) {
+        en.dead = true;
+        score += points;
+    }
+
+    void triggerDamageFlash() {
+        damageFlashFrames = DAMAGE_FLASH_DURATION;
+    }
+
+    // Snapshot positions so the renderer can interpolate between the last two ticks
+    private void savePositions() {
+        player.savePosition();
+        projectiles.savePositions();
+        particles.savePositions();
+        for (Enemy en : enemies) en.savePosition();
+        for (Boss b : bosses) b.savePositions();
+    }
+
+    private void updateBosses() {
+        for (Boss b : bosses) {
+            b.update(this);
+            b.chase(player.x + player.width / 2.0, player.y + player.height / 2.0);
+        }
+    }
+
+    // AI runs per enemy (in parallel when enabled); shots are spawned afterwards in the old loop order
+    private void updateEnemies() {
+        flowField.build(player.x + player.width / 2.0, player.y + player.height / 2.0);
+        ParallelTick.forRange(enemies.size(), parallel, parallelThreshold, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Enemy en = enemies.get(i);
+                en.steer(flowField);
+                if (en instanceof RangedShooterEnemy) ((RangedShooterEnemy) en).aim(player);
+            }
+        });
+
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Enemy en = enemies.get(i);
+            if (en instanceof RangedShooterEnemy) ((RangedShooterEnemy) en).fire(this);
+        }
+    }
+
+    // Everything after movement: broad-phase, projectile pass, contact damage, removals
+    void collide() {
+        rebuildGrid();
+        profiler.lap(FrameProfiler.COLLISIONS);
+        projectiles.update(this, grid);
+        profiler.lap(FrameProfiler.BULLETS);
+        handleEnemyPlayerCollisions();
+        removeDead();
+        profiler.lap(FrameProfiler.COLLISIONS);
+    }
+
+    // Broad-phase: bucket everything projectiles can hit this tick. Ids are list indices.
+    private void rebuildGrid() {
+        grid.clear();
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy en = enemies.get(i);
+            grid.insert(SpatialGrid.ENEMIES, i, en.x, en.y, en.width, en.height);
+        }
+        for (int i = 0; i < bosses.size(); i++) {
+            Boss boss = bosses.get(i);
+            grid.insert(SpatialGrid.BOSSES, i, boss.x, boss.y, boss.width, boss.height);
+        }
+    }
+
+    private void handleEnemyPlayerCollisions() {
+        int px = (int) player.x, py = (int) player.y;
+        int n = grid.query(SpatialGrid.ENEMIES, player.x, player.y, player.width, player.height);
+        for (int k = 0; k < n; k++) {
+            Enemy en = enemies.get(grid.getResult(k));
+            if (!en.dead && SpatialGrid.overlaps(px, py, player.width, player.height,
+                    (int) en.x, (int) en.y, en.width, en.height)) {
+                player.takeDamage(20);
+                triggerDamageFlash();
+                addExplosion(en.x + en.width / 2.0, en.y + en.height / 2.0);
+                screenshakeFrames = 12;
+                en.dead = true;
+            }
+        }
+    }
+
+    // Structural changes are deferred until every collision pass has run, so grid ids stay valid
+    private void removeDead() {
+        enemies.removeIf(en -> en.dead);
+
+        for (int i = bosses.size() - 1; i >= 0; i--) {
+            Boss b = bosses.get(i);
+            if (b.isDead()) {
+                bosses.remove(i);
+                score += 100;
+            }
+        }
+    }
+
+    // === Read access for renderers, benchmarks and tests ===
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getCurrentWave() {
+        return waveManager.getCurrentWave();
+    }
+
+    public WaveManager getWaveManager() {
+        return waveManager;
+    }
+
+    public int getScreenshakeFrames() {
+        return screenshakeFrames;
+    }
+
+    public int getDamageFlashFrames() {
+        return damageFlashFrames;
+    }
+
+    public ProjectileSystem getProjectiles() {
+        return projectiles;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /** Smallest enemy/projectile count that gets split across cores. */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+}
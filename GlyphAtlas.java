@@ -0,0 +1,212 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One font in one colour, rasterized once into a glyph sheet so text is drawn as
+ * a row of small blits instead of going through drawString's layout and glyph
+ * rendering every time. Covers printable ASCII plus a few symbols (EXTRA_CHARS);
+ * anything else falls back to a plain drawString of the whole text.
+ *
+ * Numbers are formatted into a scratch buffer rather than a String, so drawing a
+ * score or a timing doesn't allocate. Like the rest of the renderer, an atlas is
+ * only used from the render thread.
+ */
+public class GlyphAtlas {
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR = '~';
+    private static final String EXTRA_CHARS = "▶";
+    private static final int SHEET_WIDTH = 512;
+
+    private static final Map<Font, Map<Color, GlyphAtlas>> CACHE = new HashMap<>();
+
+    private final Font font;
+    private final Color color;
+    private final BufferedImage sheet;
+    private final FontMetrics metrics;
+    private final int ascent, cellHeight, pad;
+
+    // Per glyph (ASCII range first, then EXTRA_CHARS)
+    private final int[] cellX, cellY, advance;
+
+    // Digits of the number being drawn, filled from the end
+    private final char[] digits = new char[32];
+
+    /** The shared atlas for this font and colour, rasterized on first use. */
+    public static synchronized GlyphAtlas get(Font font, Color color) {
+        return CACHE.computeIfAbsent(font, f -> new HashMap<>())
+                .computeIfAbsent(color, c -> new GlyphAtlas(font, c));
+    }
+
+    private GlyphAtlas(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        int glyphs = LAST_CHAR - FIRST_CHAR + 1 + EXTRA_CHARS.length();
+        cellX = new int[glyphs];
+        cellY = new int[glyphs];
+        advance = new int[glyphs];
+
+        // Metrics come from a scratch image so this works without a screen
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        metrics = sg.getFontMetrics(font);
+        sg.dispose();
+        ascent = metrics.getAscent();
+        cellHeight = metrics.getAscent() + metrics.getDescent();
+        // Room on both sides for ink that hangs past the advance (j, italics)
+        pad = Math.max(1, font.getSize() / 8);
+
+        int x = 0, y = 0;
+        for (int i = 0; i < glyphs; i++) {
+            advance[i] = metrics.charWidth(charAt(i));
+            int cellWidth = advance[i] + 2 * pad;
+            if (x + cellWidth > SHEET_WIDTH) {
+                x = 0;
+                y += cellHeight;
+            }
+            cellX[i] = x;
+            cellY[i] = y;
+            x += cellWidth;
+        }
+
+        sheet = TextureAtlas.createCompatibleImage(SHEET_WIDTH, y + cellHeight);
+        Graphics2D g = sheet.createGraphics();
+        g.setFont(font);
+        g.setColor(color);
+        char[] one = new char[1];
+        for (int i = 0; i < glyphs; i++) {
+            one[0] = charAt(i);
+            g.drawChars(one, 0, 1, cellX[i] + pad, cellY[i] + ascent);
+        }
+        g.dispose();
+    }
+
+    private static char charAt(int glyph) {
+        int ascii = LAST_CHAR - FIRST_CHAR + 1;
+        return glyph < ascii ? (char) (FIRST_CHAR + glyph) : EXTRA_CHARS.charAt(glyph - ascii);
+    }
+
+    // Glyph index for c, or -1 if it isn't in the sheet
+    private static int glyphOf(char c) {
+        if (c >= FIRST_CHAR && c <= LAST_CHAR) return c - FIRST_CHAR;
+        int extra = EXTRA_CHARS.indexOf(c);
+        return extra < 0 ? -1 : LAST_CHAR - FIRST_CHAR + 1 + extra;
+    }
+
+    private int drawGlyph(Graphics g, int glyph, int x, int y) {
+        int sx = cellX[glyph], sy = cellY[glyph];
+        int w = advance[glyph] + 2 * pad;
+        int dx = x - pad, dy = y - ascent;
+        g.drawImage(sheet, dx, dy, dx + w, dy + cellHeight, sx, sy, sx + w, sy + cellHeight, null);
+        return x + advance[glyph];
+    }
+
+    /** Draws text with its baseline at y, like drawString. Returns the x after the last character. */
+    public int draw(Graphics g, CharSequence text, int x, int y) {
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            if (glyphOf(text.charAt(i)) < 0) {
+                // Something the sheet doesn't have (a name in another script, say)
+                g.setFont(font);
+                g.setColor(color);
+                String s = text.toString();
+                g.drawString(s, x, y);
+                return x + metrics.stringWidth(s);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            x = drawGlyph(g, glyphOf(text.charAt(i)), x, y);
+        }
+        return x;
+    }
+
+    /** Draws a whole number. Returns the x after the last digit. */
+    public int draw(Graphics g, long value, int x, int y) {
+        return drawDigits(g, formatLong(value), x, y);
+    }
+
+    /** Draws value rounded to the given number of decimals (0..9). Returns the x after the last digit. */
+    public int draw(Graphics g, double value, int decimals, int x, int y) {
+        return drawDigits(g, formatDouble(value, decimals), x, y);
+    }
+
+    /** Like draw(g, value, decimals, x, y), but the number ends at right (for aligned columns). */
+    public int drawRight(Graphics g, double value, int decimals, int right, int y) {
+        int start = formatDouble(value, decimals);
+        return drawDigits(g, start, right - digitsWidth(start), y);
+    }
+
+    public int stringWidth(CharSequence text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int glyph = glyphOf(text.charAt(i));
+            if (glyph < 0) return metrics.stringWidth(text.toString());
+            width += advance[glyph];
+        }
+        return width;
+    }
+
+    /** Line spacing, as FontMetrics.getHeight(). */
+    public int getHeight() {
+        return metrics.getHeight();
+    }
+
+    private int drawDigits(Graphics g, int start, int x, int y) {
+        for (int i = start; i < digits.length; i++) {
+            x = drawGlyph(g, digits[i] - FIRST_CHAR, x, y);
+        }
+        return x;
+    }
+
+    private int digitsWidth(int start) {
+        int width = 0;
+        for (int i = start; i < digits.length; i++) {
+            width += advance[digits[i] - FIRST_CHAR];
+        }
+        return width;
+    }
+
+    // Writes value into the end of digits; returns where it starts
+    private int formatLong(long value) {
+        int i = digits.length;
+        // Counted on the negative side, where Long.MIN_VALUE fits (its absolute value doesn't)
+        long v = value < 0 ? value : -value;
+        do {
+            digits[--i] = (char) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        if (value < 0) digits[--i] = '-';
+        return i;
+    }
+
+    private int formatDouble(double value, int decimals) {
+        if (!Double.isFinite(value)) {
+            digits[digits.length - 1] = '-';
+            return digits.length - 1;
+        }
+        long scale = 1;
+        for (int d = 0; d < decimals; d++) scale *= 10;
+        long scaled = Math.round(Math.abs(value) * scale);
+
+        int i = digits.length;
+        for (int d = 0; d < decimals; d++) {
+            digits[--i] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+        }
+        if (decimals > 0) digits[--i] = '.';
+        do {
+            digits[--i] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+        } while (scaled != 0);
+        if (value < 0 && i < digits.length) {
+            // No "-0.00" for values that round to zero
+            boolean zero = true;
+            for (int k = i; k < digits.length; k++) {
+                if (digits[k] != '0' && digits[k] != '.') zero = false;
+            }
+            if (!zero) digits[--i] = '-';
+        }
+        return i;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Player input for one sim tick. The UI (or a benchmark/bot) fills this in and
+ * GameWorld.tick() reads it, so the simulation never touches AWT events directly.
+ */
+public class InputState {
+    private static final int MAX_QUEUED_SHOTS = 16;
+
+    public boolean up, down, left, right;
+    public int mouseX, mouseY;
+
+    // Clicks that happened since the last tick, consumed by the next tick
+    private final int[] shotX = new int[MAX_QUEUED_SHOTS];
+    private final int[] shotY = new int[MAX_QUEUED_SHOTS];
+    private int shotCount = 0;
+
+    public void queueShot(int targetX, int targetY) {
+        if (shotCount == MAX_QUEUED_SHOTS) return; // drop clicks beyond the cap
+        shotX[shotCount] = targetX;
+        shotY[shotCount] = targetY;
+        shotCount++;
+    }
+
+    public int getShotCount() {
+        return shotCount;
+    }
+
+    public int getShotX(int i) {
+        return shotX[i];
+    }
+
+    public int getShotY(int i) {
+        return shotY[i];
+    }
+
+    public void clearShots() {
+        shotCount = 0;
+    }
+
+    // Release all held movement keys (e.g. when the game is paused)
+    public void releaseKeys() {
+        up = down = left = right = false;
+    }
+}
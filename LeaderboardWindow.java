@@ -1,60 +1,200 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
-import java.sql.*;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Top 10 by highscore. Changes made through our DatabaseManager arrive on its
+ * stats listener and only touch the rows they affect; a slow fallback refresh
+ * (queried off the EDT) picks up anything written by another process.
+ */
 public class LeaderboardWindow extends JFrame {
+    private static final int LIMIT = 10;
+    private static final int FALLBACK_REFRESH_MS = 10_000;
+
+    private final DatabaseManager db;
+    private final boolean ownsDb;
+    private final LeaderboardModel model = new LeaderboardModel();
+    // Queries block on JDBC (up to the busy timeout), so they get their own thread
+    // rather than a common-pool worker the parallel tick needs
+    private final ExecutorService queryThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "leaderboard-query");
+        t.setDaemon(true);
+        return t;
+    });
+    private final DatabaseManager.StatsListener statsListener =
+            stats -> SwingUtilities.invokeLater(() -> model.apply(stats));
     private JTable table;
-    private DefaultTableModel model;
     private Timer autoRefreshTimer;
+    private boolean refreshing = false;
+
 
+    public LeaderboardWindow(DatabaseManager db) {
+        // Guests have no manager of their own, but can still look at the scores
+        this.ownsDb = db == null;
+        this.db = ownsDb ? new DatabaseManager() : db;
 
-    public LeaderboardWindow() {
         setTitle("🏆 Leaderboard");
         setSize(400, 400);
         setLocation(1080, 100); // Opens beside your main game
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
 
-        model = new DefaultTableModel(new String[]{"Username", "Highscore", "Currency"}, 0);
         table = new JTable(model);
         add(new JScrollPane(table), BorderLayout.CENTER);
 
         JButton refresh = new JButton("🔄 Refresh");
-        refresh.addActionListener(e -> loadData());
+        refresh.addActionListener(e -> loadData(true));
         add(refresh, BorderLayout.SOUTH);
 
-        loadData();
+        this.db.addStatsListener(statsListener);
+        loadData(true);
         setVisible(true);
-        // Refresh every 5 seconds (5000 ms)
-        autoRefreshTimer = new Timer(16, e -> loadData()); // 16 ms ≈ 60 FPS
+        // Only for writes that don't go through our DatabaseManager
+        autoRefreshTimer = new Timer(FALLBACK_REFRESH_MS, e -> loadData(false));
         autoRefreshTimer.start();
-        
+
         addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosed(java.awt.event.WindowEvent e) {
                 if (autoRefreshTimer != null) autoRefreshTimer.stop();
+                queryThread.shutdown();
+                LeaderboardWindow.this.db.removeStatsListener(statsListener);
+                if (ownsDb) LeaderboardWindow.this.db.close();
             }
         });
 
 
     }
-    
-
-    private void loadData() {
-        model.setRowCount(0);
-        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:game.db");
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT username, highscore, currency FROM users ORDER BY highscore DESC LIMIT 10")) {
-
-            while (rs.next()) {
-                model.addRow(new Object[]{
-                        rs.getString("username"),
-                        rs.getInt("highscore"),
-                        rs.getInt("currency")
-                });
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading leaderboard: " + e.getMessage());
+
+
+    // Queries in the background and merges the result into the table on the EDT
+    private void loadData(boolean reportErrors) {
+        if (refreshing) return;
+        refreshing = true;
+        int revision = model.getRevision();
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return db.getTopScores(LIMIT);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, queryThread).whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+            refreshing = false;
+            if (error == null) {
+                // A pushed change landed while we were querying; the result may predate it
+                if (model.getRevision() == revision) model.setRows(rows);
+            } else if (reportErrors && isDisplayable()) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                JOptionPane.showMessageDialog(this, "Error loading leaderboard: " + cause.getMessage());
+            } else {
+                error.printStackTrace();
+            }
+        }));
+    }
+
+    /** The rows shown, kept in highscore order; every change fires only the rows it moved. */
+    private static class LeaderboardModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Username", "Highscore", "Currency"};
+
+        private final List<DatabaseManager.UserStats> rows = new ArrayList<>();
+        // Bumped by every pushed change, so a query started before one can be told apart
+        private int revision = 0;
+
+        int getRevision() {
+            return revision;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : Integer.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            DatabaseManager.UserStats stats = rows.get(row);
+            return switch (column) {
+                case 0 -> stats.username;
+                case 1 -> stats.highscore;
+                default -> stats.currency;
+            };
+        }
+
+        // A full query result: only rows that differ from what's shown are fired
+        void setRows(List<DatabaseManager.UserStats> fresh) {
+            if (fresh.size() != rows.size()) {
+                rows.clear();
+                rows.addAll(fresh);
+                fireTableDataChanged();
+                return;
+            }
+            for (int i = 0; i < fresh.size(); i++) {
+                if (!sameRow(rows.get(i), fresh.get(i))) {
+                    rows.set(i, fresh.get(i));
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+        }
+
+        // One user's new numbers: update in place, move up, or enter (pushing out the last)
+        void apply(DatabaseManager.UserStats stats) {
+            revision++;
+            int old = indexOf(stats.username);
+            if (old >= 0 && rows.get(old).highscore == stats.highscore) {
+                if (!sameRow(rows.get(old), stats)) {
+                    rows.set(old, stats);
+                    fireTableRowsUpdated(old, old);
+                }
+                return;
+            }
+            if (old < 0 && rows.size() >= LIMIT && stats.highscore <= rows.get(rows.size() - 1).highscore) {
+                return; // not on the board
+            }
+
+            if (old >= 0) rows.remove(old);
+            int pos = 0;
+            while (pos < rows.size() && rows.get(pos).highscore >= stats.highscore) pos++;
+            rows.add(pos, stats);
+
+            if (old >= 0) {
+                fireTableRowsUpdated(Math.min(old, pos), Math.max(old, pos));
+            } else if (rows.size() > LIMIT) {
+                rows.remove(LIMIT);
+                fireTableRowsUpdated(pos, LIMIT - 1);
+            } else {
+                fireTableRowsInserted(pos, pos);
+            }
+        }
+
+        private int indexOf(String username) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).username.equals(username)) return i;
+            }
+            return -1;
+        }
+
+        private static boolean sameRow(DatabaseManager.UserStats a, DatabaseManager.UserStats b) {
+            return a.username.equals(b.username) && a.highscore == b.highscore && a.currency == b.currency;
         }
     }
 }
@@ -80,6 +80,7 @@ public class LoginWindow extends JFrame {
 
     private void playAsGuest() {
         dispose();
+        db.close(); // guests never touch the database
         new GameMain("Guest", null);
     }
 
@@ -0,0 +1,53 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an index range of per-entity work across the common ForkJoinPool.
+ * Bodies may only touch their own entities (plus read-only shared state); any
+ * structural change (spawns, removals, score) is recorded and applied by the
+ * caller afterwards in index order, so parallel and serial runs stay bit-identical.
+ */
+public final class ParallelTick {
+    /** Below this many items the fork/join overhead isn't worth it; run inline. */
+    public static final int DEFAULT_THRESHOLD = 256;
+    // Smallest slice handed to one worker
+    private static final int MIN_CHUNK = 64;
+
+    public interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private ParallelTick() {
+    }
+
+    public static void forRange(int count, boolean parallel, int threshold, RangeBody body) {
+        if (!parallel || count < threshold || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            body.run(0, count);
+            return;
+        }
+        int chunk = Math.max(MIN_CHUNK, count / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        ForkJoinPool.commonPool().invoke(new RangeTask(body, 0, count, chunk));
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from, to, chunk;
+
+        RangeTask(RangeBody body, int from, int to, int chunk) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid, chunk), new RangeTask(body, mid, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Short-lived visual effects (explosions, boss defeat bursts; muzzle flashes and
+ * trails would be more kinds) in fixed-size parallel primitive arrays, like
+ * ProjectileSystem. Spawning never allocates: when the buffer is full the new
+ * particle is dropped and counted.
+ *
+ * Particles fade out over FADE_STEPS steps. Instead of a per-draw AlphaComposite,
+ * each kind's sprite is pre-faded into FADE_STEPS frames on a sheet in the atlas,
+ * so every particle is drawn with a plain blit of the frame for its age. Those
+ * frames still blend per pixel, so the opaque path draws a solid disc that
+ * shrinks with age instead.
+ */
+public class ParticleSystem {
+    // Kinds
+    public static final int BLAST = 0;
+
+    public static final int BLAST_SIZE = 60;
+    public static final int BLAST_LIFETIME = 24; // ticks (~0.4 seconds at 60 ticks/s)
+
+    public static final int FADE_STEPS = 24;
+    private static final int FADE_COLUMNS = 6;
+
+    // Without sprites: a fading orange circle, one colour per fade step
+    private static final Color[] FALLBACK_COLORS = new Color[FADE_STEPS];
+    private static final Color OPAQUE_COLOR = new Color(255, 100, 0);
+
+    static {
+        for (int i = 0; i < FADE_STEPS; i++) {
+            FALLBACK_COLORS[i] = new Color(255, 100, 0, (int) (180 * alphaAt(i)));
+        }
+    }
+
+    private final double[] x, y, prevX, prevY, vx, vy;
+    private final int[] age, lifetime, kind;
+    // Spawn order, a per-particle id that survives swap-removal (for thinning out draws)
+    private final int[] serial;
+    private int nextSerial = 0;
+    private int count = 0;
+    private int dropped = 0;
+
+    public ParticleSystem(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        age = new int[capacity];
+        lifetime = new int[capacity];
+        kind = new int[capacity];
+        serial = new int[capacity];
+    }
+
+    /** Adds a particle centered on (x, y), moving by (vx, vy) px per tick. */
+    public void spawn(int kind, double x, double y, double vx, double vy, int lifetime) {
+        if (count == this.x.length) {
+            dropped++;
+            return;
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.age[i] = 0;
+        this.lifetime[i] = lifetime;
+        this.kind[i] = kind;
+        this.serial[i] = nextSerial++;
+    }
+
+    public void spawnBlast(double x, double y) {
+        spawn(BLAST, x, y, 0, 0, BLAST_LIFETIME);
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public void savePositions() {
+        System.arraycopy(x, 0, prevX, 0, count);
+        System.arraycopy(y, 0, prevY, 0, count);
+    }
+
+    /** Ages and moves every particle, swap-removing the expired ones. */
+    public void update() {
+        int i = 0;
+        while (i < count) {
+            if (++age[i] >= lifetime[i]) {
+                removeAt(i); // the swapped-in slot hasn't been aged yet, so stay on i
+                continue;
+            }
+            x[i] += vx[i];
+            y[i] += vy[i];
+            i++;
+        }
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        age[i] = age[last];
+        lifetime[i] = lifetime[last];
+        kind[i] = kind[last];
+        serial[i] = serial[last];
+    }
+
+    /**
+     * Draws the visible particles, interpolated between the previous and current
+     * tick. With a stride above 1 only every stride-th particle (by spawn order,
+     * so the same ones each frame) is drawn. Opaque draws no blended pixels at all.
+     */
+    public void draw(SpriteBatch batch, Viewport view, double interp, int stride, boolean opaque) {
+        TextureAtlas.Region sheet = SpriteManager.blastFadeRegion;
+        int cell = sheet != null ? sheet.getWidth() / FADE_COLUMNS : BLAST_SIZE;
+        int half = cell / 2;
+
+        for (int i = 0; i < count; i++) {
+            if (serial[i] % stride != 0) continue;
+            int drawX = (int) (prevX[i] + (x[i] - prevX[i]) * interp);
+            int drawY = (int) (prevY[i] + (y[i] - prevY[i]) * interp);
+            if (!view.isVisible(drawX, drawY, half)) continue;
+            int step = Math.min(FADE_STEPS - 1, age[i] * FADE_STEPS / lifetime[i]);
+
+            if (opaque) {
+                int size = Math.max(1, Math.round(cell * alphaAt(step)));
+                batch.fillOval(OPAQUE_COLOR, drawX - size / 2, drawY - size / 2, size, size);
+            } else if (sheet != null) {
+                batch.draw(sheet, (step % FADE_COLUMNS) * cell, (step / FADE_COLUMNS) * cell, cell, cell,
+                        drawX - half, drawY - half);
+            } else {
+                batch.fillOval(FALLBACK_COLORS[step], drawX - half, drawY - half, cell, cell);
+            }
+        }
+    }
+
+    private static float alphaAt(int step) {
+        return 1.0f - (float) step / FADE_STEPS;
+    }
+
+    /** Lays out FADE_STEPS copies of sprite, each more transparent, as a sheet for draw(). */
+    public static BufferedImage renderFadeSheet(BufferedImage sprite) {
+        int w = sprite.getWidth(), h = sprite.getHeight();
+        int rows = (FADE_STEPS + FADE_COLUMNS - 1) / FADE_COLUMNS;
+        BufferedImage sheet = new BufferedImage(FADE_COLUMNS * w, rows * h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = sheet.createGraphics();
+        for (int step = 0; step < FADE_STEPS; step++) {
+            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alphaAt(step)));
+            g2.drawImage(sprite, (step % FADE_COLUMNS) * w, (step / FADE_COLUMNS) * h, null);
+        }
+        g2.dispose();
+        return sheet;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    /** Particles that didn't fit because the buffer was full. */
+    public int getDropped() {
+        return dropped;
+    }
+}
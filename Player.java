@@ -1,27 +1,33 @@
 import java.awt.*;
-import java.awt.event.KeyEvent;
 
 public class Player {
     double x, y;
-    double vx = 0, vy = 0;          // velocity
+    double prevX, prevY;            // position at the previous sim tick, for interpolation
+    double vx = 0, vy = 0;          // velocity (px per tick)
     final double accel = 0.3;       // acceleration per tick
-    final double maxSpeed = 6;      // max velocity
-    final double friction = 0.05;   // natural slowdown
+    final double maxSpeed = 6;      // max velocity (px per tick)
+    final double friction = 0.05;   // natural slowdown per tick
     double angle;                   // rotation toward mouse
     final int width = 40, height = 40;
 
     final int maxHealth = 500;
     int health = maxHealth;
 
-    boolean up, down, left, right;
-
     public Player(int startX, int startY) {
         this.x = startX;
         this.y = startY;
+        savePosition();
+    }
+
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
     }
 
-    public void update(int mouseX, int mouseY) {
-        angle = Math.atan2(mouseY - (y + height / 2.0), mouseX - (x + width / 2.0));
+    public void update(InputState input, int worldWidth, int worldHeight) {
+        angle = Math.atan2(input.mouseY - (y + height / 2.0), input.mouseX - (x + width / 2.0));
+
+        boolean up = input.up, down = input.down, left = input.left, right = input.right;
 
         // Acceleration
         if (up) vy -= accel;
@@ -45,45 +51,23 @@ public class Player {
         y += vy;
 
         // Clamp position within game boundaries
-        x = Math.max(0, Math.min(x, GamePanel.WIDTH - width));
-        y = Math.max(0, Math.min(y, GamePanel.HEIGHT - height));
+        x = Math.max(0, Math.min(x, worldWidth - width));
+        y = Math.max(0, Math.min(y, worldHeight - height));
 
         // Stop velocity if at edges
-        if (x == 0 || x == GamePanel.WIDTH - width) vx = 0;
-        if (y == 0 || y == GamePanel.HEIGHT - height) vy = 0;
+        if (x == 0 || x == worldWidth - width) vx = 0;
+        if (y == 0 || y == worldHeight - height) vy = 0;
     }
 
-    public void draw(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.translate(x + width / 2.0, y + height / 2.0);
-        g2.rotate(angle);
+    public void draw(SpriteBatch batch, double interp) {
+        double cx = prevX + (x - prevX) * interp + width / 2.0;
+        double cy = prevY + (y - prevY) * interp + height / 2.0;
 
-        if (SpriteManager.selectedPlayerSprite != null) {
-            g2.drawImage(SpriteManager.selectedPlayerSprite, -width / 2, -height / 2, width, height, null);
+        RotatedSprite sprite = SpriteManager.playerRotated();
+        if (sprite != null) {
+            sprite.draw(batch, cx, cy, angle);
         } else {
-            g2.setColor(Color.CYAN);
-            g2.fillRect(-width / 2, -height / 2, width, height);
-        }
-
-
-        g2.dispose();
-    }
-
-    public void keyPressed(KeyEvent e) {
-        switch (e.getKeyCode()) {
-            case KeyEvent.VK_W -> up = true;
-            case KeyEvent.VK_S -> down = true;
-            case KeyEvent.VK_A -> left = true;
-            case KeyEvent.VK_D -> right = true;
-        }
-    }
-
-    public void keyReleased(KeyEvent e) {
-        switch (e.getKeyCode()) {
-            case KeyEvent.VK_W -> up = false;
-            case KeyEvent.VK_S -> down = false;
-            case KeyEvent.VK_A -> left = false;
-            case KeyEvent.VK_D -> right = false;
+            batch.fillRect(Color.CYAN, null, cx, cy, width, height, Math.cos(angle), Math.sin(angle));
         }
     }
 
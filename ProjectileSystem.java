@@ -0,0 +1,276 @@
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Every projectile in the world (player bullets, ranged-enemy bullets, boss orbs)
+ * stored as parallel primitive arrays. Removal swaps the last projectile into the
+ * freed slot, and one linear pass per tick moves, culls and collides all of them.
+ * Projectiles aren't owned by their shooter, so they keep flying after it dies.
+ *
+ * Layers reuse the SpatialGrid layer ids and decide what a projectile can hit:
+ * player bullets hit bosses and enemies, enemy bullets and orbs hit the player.
+ */
+public class ProjectileSystem {
+    // Who fired it
+    public static final int OWNER_PLAYER = 0;
+    public static final int OWNER_ENEMY = 1;
+    public static final int OWNER_BOSS = 2;
+
+    // Per-shot tuning (speeds are px per tick)
+    public static final double PLAYER_BULLET_SPEED = 10;
+    public static final double ENEMY_BULLET_SPEED = 6;
+    public static final double ORB_SPEED = 4;
+    public static final int BULLET_SIZE = 8;
+    public static final int ORB_SIZE = 10;
+
+    private double[] x, y, prevX, prevY, vx, vy;
+    private int[] size, owner, layer;
+    private int count = 0;
+
+    // Per-tick detect results, one slot per projectile
+    private static final int HIT_NONE = 0;
+    private static final int HIT_OFFSCREEN = 1;
+    private static final int HIT_BOSS = 2;
+    private static final int HIT_ENEMY = 3;
+    private static final int HIT_PLAYER = 4;
+    private int[] hitKind = new int[0];
+    private int[] hitIndex = new int[0];
+
+    // Grid query buffer per worker thread
+    private static final ThreadLocal<SpatialGrid.Results> QUERY_RESULTS = ThreadLocal.withInitial(SpatialGrid.Results::new);
+
+    public ProjectileSystem(int initialCapacity) {
+        x = new double[initialCapacity];
+        y = new double[initialCapacity];
+        prevX = new double[initialCapacity];
+        prevY = new double[initialCapacity];
+        vx = new double[initialCapacity];
+        vy = new double[initialCapacity];
+        size = new int[initialCapacity];
+        owner = new int[initialCapacity];
+        layer = new int[initialCapacity];
+    }
+
+    public void spawn(int layer, int owner, double x, double y, double angle, double speed, int size) {
+        if (count == this.x.length) grow();
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.vx[i] = Math.cos(angle) * speed;
+        this.vy[i] = Math.sin(angle) * speed;
+        this.size[i] = size;
+        this.owner[i] = owner;
+        this.layer[i] = layer;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        size = Arrays.copyOf(size, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        layer = Arrays.copyOf(layer, capacity);
+    }
+
+    // Move the last projectile into slot i
+    private void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        size[i] = size[last];
+        owner[i] = owner[last];
+        layer[i] = layer[last];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public void savePositions() {
+        System.arraycopy(x, 0, prevX, 0, count);
+        System.arraycopy(y, 0, prevY, 0, count);
+    }
+
+    /**
+     * The per-tick pass. Detect (integrate, cull, find what each projectile hits) only
+     * writes the projectile's own slot, so it can run split across cores; resolve then
+     * applies damage, kills and removals serially in slot order. Expects the world's
+     * grid to already hold this tick's enemies and bosses.
+     */
+    public void update(GameWorld world, SpatialGrid grid) {
+        if (hitKind.length < count) {
+            hitKind = new int[x.length];
+            hitIndex = new int[x.length];
+        }
+        ParallelTick.forRange(count, world.isParallel(), world.getParallelThreshold(),
+                (from, to) -> detect(world, grid, from, to, QUERY_RESULTS.get()));
+        resolve(world, grid);
+    }
+
+    private void detect(GameWorld world, SpatialGrid grid, int from, int to, SpatialGrid.Results results) {
+        int width = world.width, height = world.height;
+        Player player = world.player;
+        int px = (int) player.x, py = (int) player.y;
+
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            hitKind[i] = HIT_NONE;
+
+            int s = size[i];
+            if (x[i] < -s || x[i] > width || y[i] < -s || y[i] > height) {
+                hitKind[i] = HIT_OFFSCREEN;
+                continue;
+            }
+
+            int bx = (int) x[i], by = (int) y[i];
+            if (layer[i] == SpatialGrid.PLAYER_BULLETS) {
+                int boss = findBoss(world, grid, bx, by, s, results);
+                if (boss >= 0) {
+                    hitKind[i] = HIT_BOSS;
+                    hitIndex[i] = boss;
+                    continue;
+                }
+                int enemy = findEnemy(world, grid, bx, by, s, results);
+                if (enemy >= 0) {
+                    hitKind[i] = HIT_ENEMY;
+                    hitIndex[i] = enemy;
+                }
+            } else if (SpatialGrid.overlaps(px, py, player.width, player.height, bx, by, s, s)) {
+                hitKind[i] = HIT_PLAYER;
+            }
+        }
+    }
+
+    // First overlapping boss in query order, or -1
+    private int findBoss(GameWorld world, SpatialGrid grid, int bx, int by, int s, SpatialGrid.Results results) {
+        int n = grid.query(SpatialGrid.BOSSES, bx, by, s, s, results);
+        for (int k = 0; k < n; k++) {
+            int j = results.get(k);
+            Boss boss = world.bosses.get(j);
+            if (SpatialGrid.overlaps((int) boss.x, (int) boss.y, boss.width, boss.height, bx, by, s, s)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    // Highest-indexed overlapping enemy (as when enemies were scanned from the back), or -1
+    private int findEnemy(GameWorld world, SpatialGrid grid, int bx, int by, int s, SpatialGrid.Results results) {
+        int hit = -1;
+        int n = grid.query(SpatialGrid.ENEMIES, bx, by, s, s, results);
+        for (int k = 0; k < n; k++) {
+            int j = results.get(k);
+            Enemy en = world.enemies.get(j);
+            if (j > hit && !en.dead
+                    && SpatialGrid.overlaps((int) en.x, (int) en.y, en.width, en.height, bx, by, s, s)) {
+                hit = j;
+            }
+        }
+        return hit;
+    }
+
+    private void resolve(GameWorld world, SpatialGrid grid) {
+        Player player = world.player;
+
+        for (int i = 0; i < count; i++) {
+            switch (hitKind[i]) {
+                case HIT_BOSS -> {
+                    Boss boss = world.bosses.get(hitIndex[i]);
+                    boss.takeDamage(10);
+                    world.addExplosion(boss.x + boss.width / 2.0, boss.y + boss.height / 2.0);
+                    world.screenshakeFrames = 15;
+                }
+                case HIT_ENEMY -> {
+                    Enemy en = world.enemies.get(hitIndex[i]);
+                    if (en.dead) {
+                        // A lower slot already killed it this tick; look again against the live ones
+                        int s = size[i];
+                        int j = findEnemy(world, grid, (int) x[i], (int) y[i], s, QUERY_RESULTS.get());
+                        if (j < 0) {
+                            hitKind[i] = HIT_NONE;
+                            continue;
+                        }
+                        en = world.enemies.get(j);
+                    }
+                    world.addExplosion(en.x + en.width / 2.0, en.y + en.height / 2.0);
+                    world.screenshakeFrames = 12;
+                    world.killEnemy(en, 10);
+                }
+                case HIT_PLAYER -> {
+                    player.takeDamage(10);
+                    if (layer[i] == SpatialGrid.ORBS) world.triggerDamageFlash();
+                }
+                default -> {
+                }
+            }
+        }
+
+        // Swap-remove everything that hit or left the arena
+        int i = 0;
+        while (i < count) {
+            if (hitKind[i] != HIT_NONE) {
+                int last = count - 1;
+                hitKind[i] = hitKind[last];
+                removeAt(i); // the swapped-in slot hasn't been checked yet, so stay on i
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // Draw every visible projectile, pre-rotated bullets and plain orbs
+    public void draw(SpriteBatch batch, Viewport view, double interp) {
+        for (int i = 0; i < count; i++) {
+            double drawX = prevX[i] + (x[i] - prevX[i]) * interp;
+            double drawY = prevY[i] + (y[i] - prevY[i]) * interp;
+            int s = size[i];
+            if (!view.isVisible(drawX + s / 2.0, drawY + s / 2.0, s)) continue;
+
+            if (layer[i] == SpatialGrid.ORBS) {
+                if (SpriteManager.orbRegion != null) {
+                    batch.draw(SpriteManager.orbRegion, (int) drawX, (int) drawY);
+                } else {
+                    batch.fillOval(Color.ORANGE, (int) drawX, (int) drawY, s, s);
+                }
+                continue;
+            }
+
+            RotatedSprite sprite = layer[i] == SpatialGrid.ENEMY_BULLETS ? SpriteManager.enemybulletRotated : SpriteManager.bulletRotated;
+            if (sprite != null) {
+                // Pre-rotated along the velocity; bucketOf only looks at its direction, not its length
+                sprite.draw(batch, drawX + s / 2.0, drawY + s / 2.0, vx[i], vy[i]);
+            } else {
+                batch.fillOval(Color.YELLOW, (int) drawX, (int) drawY, s, s);
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Live projectiles in the given layer (linear scan; for HUD/debug use). */
+    public int count(int layer) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (this.layer[i] == layer) n++;
+        }
+        return n;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+}
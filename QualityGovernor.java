@@ -0,0 +1,101 @@
+import java.util.Arrays;
+
+/**
+ * Trades visual effects for frame time. Watches the 95th percentile of recent
+ * frame times (sim + render work, not the idle wait for the next frame) and steps
+ * the quality level down while it's over budget, then back up once there's clear
+ * headroom again. Each level keeps everything the previous one turned off:
+ *
+ *   FULL           everything on
+ *   FEWER_EFFECTS  only every other particle is drawn
+ *   OPAQUE         boss spawn ring drawn without alpha, explosions as solid discs
+ *   NO_SHAKE       screen shake off
+ *   FLASH_BORDER   damage flash is a border instead of a full-screen fill
+ *
+ * Only what's drawn changes; the simulation never looks at the level.
+ */
+public class QualityGovernor {
+    public static final int FULL = 0;
+    public static final int FEWER_EFFECTS = 1;
+    public static final int OPAQUE = 2;
+    public static final int NO_SHAKE = 3;
+    public static final int FLASH_BORDER = 4;
+    public static final int LOWEST = FLASH_BORDER;
+
+    private static final String[] LEVEL_NAMES = {"full", "fewer effects", "opaque", "no shake", "flash border"};
+
+    private static final int WINDOW = 120;
+    // Samples needed after a change before judging again (restoring is more cautious)
+    private static final int DEGRADE_SAMPLES = 60;
+    private static final int RESTORE_SAMPLES = WINDOW;
+    private static final double DEGRADE_AT = 0.9; // p95 over this share of the budget
+    private static final double RESTORE_AT = 0.6; // p95 under this share of the budget
+    private static final int PERCENTILE = 95;
+
+    private final long budgetNanos;
+    private boolean adaptive = !"false".equalsIgnoreCase(System.getProperty("tdsg.adaptiveQuality"));
+    private int level = FULL;
+
+    private final long[] samples = new long[WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private int sampleCount = 0;
+    private int samplePos = 0;
+    private long percentileNanos;
+
+    public QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /** Feed one frame's work time; may change the level. */
+    public void recordFrame(long frameNanos) {
+        samples[samplePos] = frameNanos;
+        samplePos = (samplePos + 1) % WINDOW;
+        if (sampleCount < WINDOW) sampleCount++;
+        if (sampleCount < DEGRADE_SAMPLES) return;
+
+        System.arraycopy(samples, 0, sorted, 0, sampleCount);
+        Arrays.sort(sorted, 0, sampleCount);
+        percentileNanos = sorted[(sampleCount - 1) * PERCENTILE / 100];
+        if (!adaptive) return;
+
+        if (percentileNanos > budgetNanos * DEGRADE_AT && level < LOWEST) {
+            setLevel(level + 1);
+        } else if (sampleCount >= RESTORE_SAMPLES && percentileNanos < budgetNanos * RESTORE_AT && level > FULL) {
+            setLevel(level - 1);
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /** Jumps to a level; the sample window starts over so the next judgement only sees the new level. */
+    public void setLevel(int level) {
+        this.level = Math.max(FULL, Math.min(LOWEST, level));
+        sampleCount = 0;
+        samplePos = 0;
+    }
+
+    /** Whether the current level still includes the effects of the given one (e.g. at(NO_SHAKE)). */
+    public boolean at(int level) {
+        return this.level >= level;
+    }
+
+    public String getLevelName() {
+        return LEVEL_NAMES[level];
+    }
+
+    /** 95th percentile frame time of the last judged window. */
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /** Whether frame times move the level (on unless -Dtdsg.adaptiveQuality=false). */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+}
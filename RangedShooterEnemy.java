@@ -1,43 +1,42 @@
 import java.awt.*;
-import java.util.ArrayList;
 
 public class RangedShooterEnemy extends Enemy {
     private int shootCooldown = 0;
-    public ArrayList<Bullet> enemyBullets = new ArrayList<>();
+
+    // Shot aimed during the (possibly parallel) AI phase, spawned in the serial merge
+    private boolean shotPending = false;
+    private double shotX, shotY, shotAngle;
 
     public RangedShooterEnemy(int startX, int startY) {
         super(startX, startY);
-        this.speed = 1.2;
+        this.speed = 1.2;      // px per tick
         this.width = 36;
         this.height = 36;
     }
 
+    // Keep-distance band around the player: a ring of the flow field
+    private static final double KEEP_MIN = 120;
+    private static final double KEEP_MAX = 180;
+
     @Override
-    public void chase(double targetX, double targetY) {
-        double centerX = x + width / 2.0;
-        double centerY = y + height / 2.0;
-        double dx = targetX - centerX;
-        double dy = targetY - centerY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
+    public void steer(FlowField field) {
+        double distance = field.sample(x + width / 2.0, y + height / 2.0, this);
 
         // Keep distance between 120 and 180 units from player
-        if (distance > 180) {
-            x += (dx / distance) * speed;
-            y += (dy / distance) * speed;
-        } else if (distance < 120) {
-            x -= (dx / distance) * speed;
-            y -= (dy / distance) * speed;
+        if (distance > KEEP_MAX) {
+            x += faceX * speed;
+            y += faceY * speed;
+        } else if (distance < KEEP_MIN) {
+            x -= faceX * speed;
+            y -= faceY * speed;
         }
     }
 
-    /** Update enemy: shoot if cooldown allows, update bullets */
-    public void update(Player player, int gameWidth, int gameHeight) {
-        handleShooting(player);
-        updateBullets(gameWidth, gameHeight);
-    }
-
-    /** Shoot bullet toward player if cooldown is zero */
-    private void handleShooting(Player player) {
+    /**
+     * Tick the shot cooldown and aim at the player. Only touches this enemy, so it
+     * can run on a worker thread; the shot itself is spawned later by fire().
+     */
+    public void aim(Player player) {
         if (shootCooldown > 0) {
             shootCooldown--;
             return;
@@ -45,73 +44,34 @@ public class RangedShooterEnemy extends Enemy {
 
         double px = player.x + player.width / 2.0;
         double py = player.y + player.height / 2.0;
-        double ex = x + width / 2.0;
-        double ey = y + height / 2.0;
-        double angle = Math.atan2(py - ey, px - ex);
-
-        Bullet bullet = new Bullet(ex, ey, angle, SpriteManager.enemybulletSprite);
-        bullet.setSpeed(6); // slower bullet for enemy
-        enemyBullets.add(bullet);
+        shotX = x + width / 2.0;
+        shotY = y + height / 2.0;
+        shotAngle = Math.atan2(py - shotY, px - shotX);
+        shotPending = true;
 
         shootCooldown = 80; // cooldown ticks between shots
     }
 
-    /** Update enemy bullets and remove if offscreen */
-    private void updateBullets(int gameWidth, int gameHeight) {
-        for (int i = enemyBullets.size() - 1; i >= 0; i--) {
-            Bullet b = enemyBullets.get(i);
-            b.update();
-            if (b.isOffScreen(gameWidth, gameHeight)) {
-                enemyBullets.remove(i);
-            }
-        }
-    }
-
-    /** Draw all enemy bullets */
-    public void drawBullets(Graphics g) {
-        for (Bullet b : enemyBullets) {
-            b.draw(g);
-        }
-    }
-
-    /** Check collision between enemy bullets and player, apply damage */
-    public void checkBulletCollision(Player player) {
-        Rectangle playerRect = new Rectangle((int) player.x, (int) player.y, player.width, player.height);
-
-        for (int i = enemyBullets.size() - 1; i >= 0; i--) {
-            Bullet b = enemyBullets.get(i);
-            Rectangle bulletRect = b.getBounds();
+    /** Spawn the shot aimed this tick, if any (bullets are flown by the world's ProjectileSystem) */
+    public void fire(GameWorld world) {
+        if (!shotPending) return;
+        shotPending = false;
 
-            if (bulletRect.intersects(playerRect)) {
-                player.takeDamage(10); // customize damage as needed
-                enemyBullets.remove(i);
-                // TODO: Add hit effects here if desired
-            }
-        }
+        // slower bullet for enemy
+        world.projectiles.spawn(SpatialGrid.ENEMY_BULLETS, ProjectileSystem.OWNER_ENEMY, shotX, shotY,
+                shotAngle, ProjectileSystem.ENEMY_BULLET_SPEED, ProjectileSystem.BULLET_SIZE);
     }
 
     /** Draw rotated enemy facing the player */
     @Override
-    public void draw(Graphics g, Player player) {
-        Graphics2D g2 = (Graphics2D) g.create();
-
-        double angle = Math.atan2(
-            (player.y + player.height / 2.0) - (y + height / 2.0),
-            (player.x + player.width / 2.0) - (x + width / 2.0)
-        );
+    public void draw(SpriteBatch batch, Player player, double interp) {
+        double cx = prevX + (x - prevX) * interp + width / 2.0;
+        double cy = prevY + (y - prevY) * interp + height / 2.0;
 
-        g2.translate(x + width / 2.0, y + height / 2.0);
-        g2.rotate(angle);
-
-        if (SpriteManager.rangedEnemySprite != null) {
-            g2.drawImage(SpriteManager.rangedEnemySprite, -width / 2, -height / 2, width, height, null);
+        if (SpriteManager.rangedEnemyRotated != null) {
+            SpriteManager.rangedEnemyRotated.draw(batch, cx, cy, faceX, faceY);
         } else {
-            g2.setColor(Color.BLUE);
-            g2.fillRect(-width / 2, -height / 2, width, height);
-            g2.setColor(Color.WHITE);
-            g2.drawRect(-width / 2, -height / 2, width, height);
+            batch.fillRect(Color.BLUE, Color.WHITE, cx, cy, width, height, faceX, faceY);
         }
-
-        g2.dispose();
     }
 }
@@ -0,0 +1,57 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A cached, screen-compatible picture of something that rarely changes (HUD
+ * panels, overlays). It's redrawn only when its contents change and otherwise
+ * composited with a single blit. Covers the rectangle (x, y, width, height) in
+ * world coordinates.
+ */
+public class RenderLayer {
+    private final int x, y, width, height;
+    private final BufferedImage image;
+    private boolean valid = false;
+
+    public RenderLayer(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.image = TextureAtlas.createCompatibleImage(width, height);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Clears the layer and returns a Graphics (in world coordinates) to draw its
+     * new contents with. The caller disposes it.
+     */
+    public Graphics2D redraw() {
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.translate(-x, -y);
+        valid = true;
+        return g;
+    }
+
+    /** Composites the layer at its position, moved by (offsetX, offsetY) (screen shake). */
+    public void draw(Graphics g, int offsetX, int offsetY) {
+        g.drawImage(image, x + offsetX, y + offsetY, null);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
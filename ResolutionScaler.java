@@ -0,0 +1,209 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.function.Consumer;
+
+/**
+ * Renders the world into an offscreen buffer and blits that to the screen in one
+ * (scaled) drawImage, so the render resolution is decoupled from both the world
+ * and the window. The world is fitted into the surface keeping its aspect ratio
+ * (letterboxed), the buffer follows the surface's device pixels (HiDPI, resized or
+ * fullscreen windows), and the render scale (MIN_SCALE..MAX_SCALE of that) drops
+ * when rendering takes too much of the frame budget and comes back when there's
+ * room again. Game logic only ever sees world coordinates.
+ */
+public class ResolutionScaler {
+    public static final double MIN_SCALE = 0.5;
+    public static final double MAX_SCALE = 1.0;
+    private static final double SCALE_STEP = 0.1;
+
+    // Drop when render time is over this share of the budget, recover under the other
+    private static final double DOWN_THRESHOLD = 0.9;
+    private static final double UP_THRESHOLD = 0.5;
+    // Frames to wait after a change before judging again (recovering is more cautious)
+    private static final int DOWN_COOLDOWN = 30;
+    private static final int UP_COOLDOWN = 120;
+    // A drop has to save this much, or it's undone and not retried for a while
+    private static final double MIN_GAIN = 0.95;
+    private static final int NO_GAIN_COOLDOWN = 600;
+    private static final double SMOOTHING = 0.1;
+
+    private final int worldWidth, worldHeight;
+    private final long budgetNanos;
+
+    private boolean dynamic = !"false".equalsIgnoreCase(System.getProperty("tdsg.dynamicResolution"));
+    private double renderScale = MAX_SCALE;
+    private double smoothedRenderNanos;
+    private int cooldown;
+    private double nanosBeforeDrop = -1;
+
+    private VolatileImage buffer;
+    private BufferedImage fallbackBuffer; // where volatile images aren't available (headless)
+    private int bufferWidth, bufferHeight;
+
+    // Where the world went on the surface last frame, for mapping the mouse back
+    private double viewX, viewY, viewScale = 1;
+
+    public ResolutionScaler(int worldWidth, int worldHeight, long budgetNanos) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Device pixels per unit of the component's coordinates on its screen, 2 on a
+     * 200% HiDPI screen. Taken from the screen rather than a Graphics, since a
+     * BufferStrategy's graphics come with an identity transform even there.
+     */
+    public static double deviceScale(Component surface) {
+        GraphicsConfiguration gc = surface.getGraphicsConfiguration();
+        return gc != null ? Math.max(1, gc.getDefaultTransform().getScaleX()) : 1;
+    }
+
+    /**
+     * Paints one frame onto a surface of the given size: painter draws the world
+     * (in world coordinates) into the offscreen buffer, which is then scaled into
+     * the letterboxed area of g. deviceScale (see deviceScale()) sizes the buffer
+     * in device pixels.
+     */
+    public void render(Graphics2D g, int surfaceWidth, int surfaceHeight, double deviceScale,
+                       Consumer<Graphics2D> painter) {
+        long start = System.nanoTime();
+
+        double fit = Math.min(surfaceWidth / (double) worldWidth, surfaceHeight / (double) worldHeight);
+        int outWidth = Math.max(1, (int) Math.round(worldWidth * fit));
+        int outHeight = Math.max(1, (int) Math.round(worldHeight * fit));
+        int outX = (surfaceWidth - outWidth) / 2;
+        int outY = (surfaceHeight - outHeight) / 2;
+        viewX = outX;
+        viewY = outY;
+        viewScale = fit;
+
+        double device = deviceScale;
+        int width = Math.max(1, (int) Math.round(outWidth * device * renderScale));
+        int height = Math.max(1, (int) Math.round(outHeight * device * renderScale));
+
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        boolean fullSize = width == (int) Math.round(outWidth * device);
+        do {
+            Image image = prepareBuffer(gc, width, height);
+            Graphics2D bg = (Graphics2D) image.getGraphics();
+            try {
+                // Shake leaves the edges uncovered, so start from black like the panel did
+                bg.setColor(Color.BLACK);
+                bg.fillRect(0, 0, width, height);
+                bg.scale(width / (double) worldWidth, height / (double) worldHeight);
+                painter.accept(bg);
+            } finally {
+                bg.dispose();
+            }
+
+            g.setColor(Color.BLACK);
+            if (outX > 0) {
+                g.fillRect(0, 0, outX, surfaceHeight);
+                g.fillRect(outX + outWidth, 0, surfaceWidth - outX - outWidth, surfaceHeight);
+            }
+            if (outY > 0) {
+                g.fillRect(0, 0, surfaceWidth, outY);
+                g.fillRect(0, outY + outHeight, surfaceWidth, surfaceHeight - outY - outHeight);
+            }
+            Object interpolation = fullSize ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+                    : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g.drawImage(image, outX, outY, outX + outWidth, outY + outHeight, 0, 0, width, height, null);
+        } while (buffer != null && buffer.contentsLost());
+
+        if (dynamic) adapt(System.nanoTime() - start);
+    }
+
+    // (Re)creates the buffer when the size or the screen changed, or video memory was lost
+    private Image prepareBuffer(GraphicsConfiguration gc, int width, int height) {
+        if (width != bufferWidth || height != bufferHeight) {
+            releaseBuffer();
+            bufferWidth = width;
+            bufferHeight = height;
+        }
+        if (buffer == null && fallbackBuffer == null) {
+            try {
+                buffer = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+            } catch (RuntimeException e) {
+                buffer = null;
+            }
+            if (buffer == null) fallbackBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        if (buffer != null && buffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            buffer.flush();
+            buffer = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+        }
+        return buffer != null ? buffer : fallbackBuffer;
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) buffer.flush();
+        buffer = null;
+        fallbackBuffer = null;
+    }
+
+    // Budget-driven: step down quickly when rendering eats the frame, back up slowly
+    private void adapt(long renderNanos) {
+        smoothedRenderNanos += (renderNanos - smoothedRenderNanos) * SMOOTHING;
+        if (cooldown > 0) {
+            cooldown--;
+            return;
+        }
+        if (nanosBeforeDrop > 0) {
+            // Scaled blits can be slower than 1:1 ones (software pipelines), so check the drop paid off
+            boolean helped = smoothedRenderNanos < nanosBeforeDrop * MIN_GAIN;
+            nanosBeforeDrop = -1;
+            if (!helped) {
+                setRenderScale(renderScale + SCALE_STEP);
+                cooldown = NO_GAIN_COOLDOWN;
+                return;
+            }
+        }
+        if (smoothedRenderNanos > budgetNanos * DOWN_THRESHOLD && renderScale > MIN_SCALE) {
+            nanosBeforeDrop = smoothedRenderNanos;
+            setRenderScale(renderScale - SCALE_STEP);
+            cooldown = DOWN_COOLDOWN;
+        } else if (smoothedRenderNanos < budgetNanos * UP_THRESHOLD && renderScale < MAX_SCALE) {
+            setRenderScale(renderScale + SCALE_STEP);
+            cooldown = UP_COOLDOWN;
+        }
+    }
+
+    /** Surface (component) x to world x, through last frame's letterboxing and scale. */
+    public int toWorldX(int surfaceX) {
+        return (int) ((surfaceX - viewX) / viewScale);
+    }
+
+    public int toWorldY(int surfaceY) {
+        return (int) ((surfaceY - viewY) / viewScale);
+    }
+
+    public double getRenderScale() {
+        return renderScale;
+    }
+
+    /** Fraction of the output resolution to render at, clamped to MIN_SCALE..MAX_SCALE. */
+    public void setRenderScale(double scale) {
+        // Rounded so repeated steps land on exact tenths
+        renderScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, Math.round(scale * 100) / 100.0));
+    }
+
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /** Whether the render scale follows the frame budget (on unless -Dtdsg.dynamicResolution=false). */
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    public int getBufferWidth() {
+        return bufferWidth;
+    }
+
+    public int getBufferHeight() {
+        return bufferHeight;
+    }
+}
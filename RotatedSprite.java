@@ -0,0 +1,154 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * A sprite pre-rendered at its drawn size in ANGLE_BUCKETS rotations, laid out as
+ * a sheet (SHEET_COLUMNS wide) that goes into the texture atlas. Drawing a rotated
+ * entity is then a plain untransformed blit of one cell instead of Java2D's (slow)
+ * transformed image path.
+ *
+ * Sprites bigger than MAX_CACHED_SIZE (the boss) aren't pre-rotated, since there
+ * are only a few of them on screen and 64 big copies cost a lot of memory; those
+ * keep one scaled copy and draw it with an exact rotation instead.
+ */
+public class RotatedSprite {
+    public static final int ANGLE_BUCKETS = 64;
+    public static final int MAX_CACHED_SIZE = 64;
+    private static final int SHEET_COLUMNS = 8;
+
+    private static final double BUCKET_ANGLE = 2 * Math.PI / ANGLE_BUCKETS;
+
+    // Diamond angle (0..4, a trig-free stand-in for the angle of a vector) -> bucket
+    private static final int DIAMOND_STEPS_PER_QUADRANT = 256;
+    private static final int[] DIAMOND_TO_BUCKET = new int[4 * DIAMOND_STEPS_PER_QUADRANT];
+
+    static {
+        for (int i = 0; i < DIAMOND_TO_BUCKET.length; i++) {
+            double d = (i + 0.5) / DIAMOND_STEPS_PER_QUADRANT;
+            int quadrant = (int) d;
+            double f = d - quadrant;
+            double angle = Math.atan2(f, 1 - f) + quadrant * Math.PI / 2;
+            DIAMOND_TO_BUCKET[i] = bucketOf(angle);
+        }
+    }
+
+    private final BufferedImage source;
+    private final int width, height;
+    private final boolean cached;
+    private final int frameSize;
+
+    // The sheet (or, uncached, the scaled sprite) until bind() points us at its atlas copy
+    private final BufferedImage image;
+    private TextureAtlas.Region region;
+
+    public RotatedSprite(BufferedImage source, int width, int height) {
+        this.source = source;
+        this.width = width;
+        this.height = height;
+        this.cached = Math.max(width, height) <= MAX_CACHED_SIZE;
+        // Square big enough for any rotation, even so the center lands on a pixel corner
+        int diagonal = (int) Math.ceil(Math.sqrt(width * width + height * height));
+        this.frameSize = diagonal + (diagonal & 1);
+
+        BufferedImage scaled = TextureAtlas.scale(source, width, height);
+        this.image = cached ? renderSheet(scaled) : scaled;
+    }
+
+    private BufferedImage renderSheet(BufferedImage scaled) {
+        int rows = (ANGLE_BUCKETS + SHEET_COLUMNS - 1) / SHEET_COLUMNS;
+        BufferedImage sheet = new BufferedImage(SHEET_COLUMNS * frameSize, rows * frameSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = sheet.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        for (int bucket = 0; bucket < ANGLE_BUCKETS; bucket++) {
+            AffineTransform saved = g2.getTransform();
+            g2.translate(cellX(bucket) + frameSize / 2.0, cellY(bucket) + frameSize / 2.0);
+            g2.rotate(bucket * BUCKET_ANGLE);
+            g2.drawImage(scaled, -width / 2, -height / 2, null);
+            g2.setTransform(saved);
+        }
+        g2.dispose();
+        return sheet;
+    }
+
+    private int cellX(int bucket) {
+        return (bucket % SHEET_COLUMNS) * frameSize;
+    }
+
+    private int cellY(int bucket) {
+        return (bucket / SHEET_COLUMNS) * frameSize;
+    }
+
+    public BufferedImage getSource() {
+        return source;
+    }
+
+    /** What to put into the atlas: the rotation sheet, or the scaled sprite when not pre-rotated. */
+    public BufferedImage getAtlasImage() {
+        return image;
+    }
+
+    /** Draw from the atlas copy of getAtlasImage() from now on. */
+    public void bind(TextureAtlas.Region region) {
+        this.region = region;
+    }
+
+    public static int bucketOf(double angle) {
+        return Math.floorMod((int) Math.round(angle / BUCKET_ANGLE), ANGLE_BUCKETS);
+    }
+
+    /** Bucket for the direction (dx, dy), without any trig. */
+    public static int bucketOf(double dx, double dy) {
+        double d;
+        if (dy >= 0) {
+            d = dx >= 0 ? dy / (dx + dy) : 1 - dx / (dy - dx);
+        } else {
+            d = dx < 0 ? 2 - dy / (-dx - dy) : 3 + dx / (dx - dy);
+        }
+        if (!(d >= 0)) return 0; // (0, 0) has no direction
+        int i = (int) (d * DIAMOND_STEPS_PER_QUADRANT);
+        return DIAMOND_TO_BUCKET[Math.min(i, DIAMOND_TO_BUCKET.length - 1)];
+    }
+
+    /** Draws the sprite centered on (cx, cy), rotated by angle (radians). */
+    public void draw(SpriteBatch batch, double cx, double cy, double angle) {
+        if (cached) {
+            blit(batch, cx, cy, bucketOf(angle));
+        } else {
+            drawExact(batch, cx, cy, Math.cos(angle), Math.sin(angle));
+        }
+    }
+
+    /** Draws the sprite centered on (cx, cy), facing along (dx, dy), which needn't be a unit vector. */
+    public void draw(SpriteBatch batch, double cx, double cy, double dx, double dy) {
+        if (cached) {
+            blit(batch, cx, cy, bucketOf(dx, dy));
+        } else {
+            // The exact rotation uses the direction as cos/sin, so only this path normalizes
+            double length = Math.sqrt(dx * dx + dy * dy);
+            if (length > 0) {
+                drawExact(batch, cx, cy, dx / length, dy / length);
+            } else {
+                drawExact(batch, cx, cy, 1, 0); // no direction: bucket 0, like bucketOf
+            }
+        }
+    }
+
+    private void blit(SpriteBatch batch, double cx, double cy, int bucket) {
+        int x = (int) Math.round(cx) - frameSize / 2;
+        int y = (int) Math.round(cy) - frameSize / 2;
+        if (region != null) {
+            batch.draw(region, cellX(bucket), cellY(bucket), frameSize, frameSize, x, y);
+        } else {
+            batch.draw(image, cellX(bucket), cellY(bucket), frameSize, frameSize, x, y);
+        }
+    }
+
+    private void drawExact(SpriteBatch batch, double cx, double cy, double dx, double dy) {
+        if (region != null) {
+            batch.drawRotated(region.getPage(), region.getX(), region.getY(), width, height, cx, cy, dx, dy);
+        } else {
+            batch.drawRotated(image, 0, 0, width, height, cx, cy, dx, dy);
+        }
+    }
+}
@@ -3,14 +3,16 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 
 public class ShopWindow extends JFrame {
-    private final DatabaseManager db;
-    private final String username;
+    // Reads go to the profile GameMain caches; purchases and selections go through it too
+    private final GameMain gameMain;
+    private JPanel skinPanelHolder;
     private JLabel currencyLabel;
 
-    public ShopWindow(String username, DatabaseManager db) {
+    public ShopWindow(GameMain gameMain) {
         super("Shop - Player Skins");
-        this.username = username;
-        this.db = db;
+        this.gameMain = gameMain;
+        // Coins or skins may have been written by another process since the last load
+        gameMain.invalidateProfile();
 
         setSize(900, 560);
         setResizable(false);
@@ -30,14 +32,8 @@ public class ShopWindow extends JFrame {
         content.add(title);
         content.add(Box.createRigidArea(new Dimension(0, 30)));
 
-        JPanel skinPanelHolder = new JPanel(new GridLayout(1, 4, 26, 0));
+        skinPanelHolder = new JPanel(new GridLayout(1, 4, 26, 0));
         skinPanelHolder.setOpaque(false);
-
-        skinPanelHolder.add(createSkinPanel("Default", "default", 0, SpriteManager.playerDefaultSprite));
-        skinPanelHolder.add(createSkinPanel("Player2", "skin1", 100, SpriteManager.playerSkin1));
-        skinPanelHolder.add(createSkinPanel("Player3", "skin2", 200, SpriteManager.playerSkin2));
-        skinPanelHolder.add(createSkinPanel("Player4", "skin3", 300, SpriteManager.playerSkin3));
-
         content.add(skinPanelHolder);
         content.add(Box.createVerticalGlue());
 
@@ -45,8 +41,8 @@ public class ShopWindow extends JFrame {
         currencyLabel.setFont(new Font("Segoe UI Semibold", Font.PLAIN, 20));
         currencyLabel.setForeground(new Color(230, 240, 255));
         currencyLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        updateCurrencyLabel();
         content.add(currencyLabel);
+        refreshSkins();
 
         content.add(Box.createRigidArea(new Dimension(0, 20)));
 
@@ -60,16 +56,36 @@ public class ShopWindow extends JFrame {
         setVisible(true);
     }
 
-    private JPanel createSkinPanel(String skinName, String skinId, int price, BufferedImage image) {
+    // Rebuilds the skin panels and the coin count from the current profile
+    private void refreshSkins() {
+        skinPanelHolder.removeAll();
+        UserProfile profile = gameMain.getProfile();
+        if (profile == null) {
+            // The reload failed (database error, or the user is gone)
+            JLabel error = new JLabel("⚠ Couldn't load your profile", SwingConstants.CENTER);
+            error.setForeground(new Color(230, 240, 255));
+            error.setFont(new Font("Segoe UI", Font.BOLD, 20));
+            skinPanelHolder.add(error);
+        } else {
+            skinPanelHolder.add(createSkinPanel(profile, "Default", "default", 0, SpriteManager.playerDefaultSprite));
+            skinPanelHolder.add(createSkinPanel(profile, "Player2", "skin1", 100, SpriteManager.playerSkin1));
+            skinPanelHolder.add(createSkinPanel(profile, "Player3", "skin2", 200, SpriteManager.playerSkin2));
+            skinPanelHolder.add(createSkinPanel(profile, "Player4", "skin3", 300, SpriteManager.playerSkin3));
+        }
+        updateCurrencyLabel();
+        skinPanelHolder.revalidate();
+        skinPanelHolder.repaint();
+    }
+
+    private JPanel createSkinPanel(UserProfile profile, String skinName, String skinId, int price, BufferedImage image) {
         JPanel panel = new JPanel();
         panel.setBackground(new Color(36, 38, 52));
         panel.setBorder(new RoundedBorder(24, new Color(80, 100, 120, 120), 4));
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setMaximumSize(new Dimension(200, 380));
 
-        boolean purchased = skinId.equals("default") || db.isSkinPurchased(username, skinId);
-        String equipped = db.getSelectedSkin(username);
-        int userCoins = db.getCurrency(username);
+        boolean purchased = profile.owns(skinId);
+        int userCoins = profile.getCurrency();
 
         // Image panel with optional lock overlay
         JPanel imagePanel = new JPanel();
@@ -134,15 +150,14 @@ public class ShopWindow extends JFrame {
         buyBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         if (purchased) {
-            if (equipped != null && equipped.equalsIgnoreCase(skinId)) {
+            if (profile.isSelected(skinId)) {
                 buyBtn.setText("Selected");
                 buyBtn.setEnabled(false);
             } else {
                 buyBtn.setText("Select");
                 buyBtn.setEnabled(true);
                 buyBtn.addActionListener(e -> {
-                    db.setSelectedSkin(username, skinId);
-                    SpriteManager.selectedPlayerSprite = image;
+                    gameMain.selectSkin(skinId);
                     JOptionPane.showMessageDialog(this, skinName + " skin equipped!");
                     dispose();
                 });
@@ -153,15 +168,14 @@ public class ShopWindow extends JFrame {
                 buyBtn.setEnabled(false);
             } else {
                 buyBtn.addActionListener(e -> {
-                    if (db.getCurrency(username) >= price) {
-                        db.buySkin(username, skinId, price);
-                        db.setSelectedSkin(username, skinId);
-                        SpriteManager.selectedPlayerSprite = image;
+                    if (gameMain.buySkin(skinId, price)) {
+                        gameMain.selectSkin(skinId);
                         updateCurrencyLabel();
                         JOptionPane.showMessageDialog(this, skinName + " purchased and equipped!");
                         dispose();
                     } else {
                         JOptionPane.showMessageDialog(this, "Not enough coins!");
+                        refreshSkins(); // show the balance that turned it down
                     }
                 });
             }
@@ -174,8 +188,8 @@ public class ShopWindow extends JFrame {
     }
 
     private void updateCurrencyLabel() {
-        int coins = db.getCurrency(username);
-        currencyLabel.setText("💰 Coins: " + coins);
+        UserProfile profile = gameMain.getProfile();
+        currencyLabel.setText(profile != null ? "💰 Coins: " + profile.getCurrency() : "💰 Coins: ?");
     }
 
     private void stylizeButton(JButton btn, int radius, int thickness) {
@@ -0,0 +1,141 @@
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broad-phase for collisions. Every tick the world clears it and
+ * inserts each collidable under its layer (player, player bullets, enemy bullets,
+ * orbs, enemies, bosses); a query then only visits the cells around the querying
+ * box instead of every object in the layer.
+ *
+ * Objects go into the single cell holding their center. Queries pad the search
+ * box by the largest half-size seen in that layer, so nothing overlapping the box
+ * is missed even when it sticks out of its cell. Ids are whatever the caller uses
+ * to find the object again (usually its index in a list).
+ */
+public class SpatialGrid {
+    public static final int PLAYER = 0;
+    public static final int PLAYER_BULLETS = 1;
+    public static final int ENEMY_BULLETS = 2;
+    public static final int ORBS = 3;
+    public static final int ENEMIES = 4;
+    public static final int BOSSES = 5;
+    public static final int LAYER_COUNT = 6;
+
+    private final int cellSize;
+    private final int originX, originY;
+    private final int cols, rows;
+
+    // [layer][cell] -> first entry in that cell, or -1; entries are chained through entryNext
+    private final int[][] cellHead;
+    private final double[] maxHalfExtent = new double[LAYER_COUNT];
+    private int[] entryNext = new int[256];
+    private int[] entryId = new int[256];
+    private int entryCount = 0;
+
+    private final Results results = new Results();
+
+    /**
+     * Caller-owned query buffer. Queries only read the grid, so threads can query
+     * the same grid concurrently as long as each uses its own Results.
+     */
+    public static final class Results {
+        private int[] ids = new int[64];
+        private int count = 0;
+
+        public int size() {
+            return count;
+        }
+
+        public int get(int i) {
+            return ids[i];
+        }
+
+        private void add(int id) {
+            if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+            ids[count++] = id;
+        }
+    }
+
+    /**
+     * Covers the arena plus margin on every side (enemies spawn off screen);
+     * anything further out is clamped into the border cells.
+     */
+    public SpatialGrid(int width, int height, int cellSize, int margin) {
+        this.cellSize = cellSize;
+        this.originX = -margin;
+        this.originY = -margin;
+        this.cols = (width + 2 * margin + cellSize - 1) / cellSize;
+        this.rows = (height + 2 * margin + cellSize - 1) / cellSize;
+        this.cellHead = new int[LAYER_COUNT][cols * rows];
+        clear();
+    }
+
+    public void clear() {
+        for (int[] heads : cellHead) Arrays.fill(heads, -1);
+        Arrays.fill(maxHalfExtent, 0);
+        entryCount = 0;
+    }
+
+    public void insert(int layer, int id, double x, double y, double w, double h) {
+        if (entryCount == entryId.length) {
+            entryId = Arrays.copyOf(entryId, entryCount * 2);
+            entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+        }
+        int cell = cellIndex(col(x + w / 2), row(y + h / 2));
+        entryId[entryCount] = id;
+        entryNext[entryCount] = cellHead[layer][cell];
+        cellHead[layer][cell] = entryCount;
+        entryCount++;
+
+        double halfExtent = Math.max(w, h) / 2;
+        if (halfExtent > maxHalfExtent[layer]) maxHalfExtent[layer] = halfExtent;
+    }
+
+    /**
+     * Collects the ids in the given layer that may overlap the box. Returns the
+     * count; read them with getResult(). The result buffer is reused by the next query.
+     */
+    public int query(int layer, double x, double y, double w, double h) {
+        return query(layer, x, y, w, h, results);
+    }
+
+    /** Same as query(), filling a caller-owned buffer (safe to call from several threads). */
+    public int query(int layer, double x, double y, double w, double h, Results out) {
+        out.count = 0;
+        double pad = maxHalfExtent[layer];
+        int c0 = col(x - pad), c1 = col(x + w + pad);
+        int r0 = row(y - pad), r1 = row(y + h + pad);
+        int[] heads = cellHead[layer];
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int e = heads[cellIndex(c, r)]; e != -1; e = entryNext[e]) {
+                    out.add(entryId[e]);
+                }
+            }
+        }
+        return out.count;
+    }
+
+    public int getResult(int i) {
+        return results.get(i);
+    }
+
+    private int col(double x) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    private int cellIndex(int col, int row) {
+        return row * cols + col;
+    }
+
+    /** Same test as Rectangle.intersects, without allocating Rectangles. */
+    public static boolean overlaps(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        return bx < ax + aw && by < ay + ah && bx + bw > ax && by + bh > ay;
+    }
+}
@@ -16,8 +16,8 @@ public class SplitterBoss extends Boss {
     }
 
     @Override
-    public void update() {
-        super.update();
+    public void update(GameWorld world) {
+        super.update(world);
         // On reaching threshold, split
         if (!hasSplit && health < splitHealthThreshold) {
             hasSplit = true;
@@ -27,14 +27,20 @@ public class SplitterBoss extends Boss {
 
         // Update minibosses if any
         for (MiniBoss mb : miniBosses) {
-            mb.update();
+            mb.update(world);
         }
     }
 
     @Override
-    public void draw(Graphics g) {
-        super.draw(g);
-        for (MiniBoss mb : miniBosses) mb.draw(g);
+    public void savePositions() {
+        super.savePositions();
+        for (MiniBoss mb : miniBosses) mb.savePositions();
+    }
+
+    @Override
+    public void draw(SpriteBatch batch, double interp) {
+        super.draw(batch, interp);
+        for (MiniBoss mb : miniBosses) mb.draw(batch, interp);
     }
 
     // Inner class for minibosses
@@ -48,21 +54,19 @@ public class SplitterBoss extends Boss {
         }
 
         @Override
-        public void update() {
-            super.update();
+        public void update(GameWorld world) {
+            super.update(world);
             // Could add different orb patterns or speed here
         }
 
         @Override
-        public void draw(Graphics g) {
-            if (SpriteManager.bossSprite != null) {
-                g.drawImage(SpriteManager.bossSprite, (int)x, (int)y, width, height, null);
+        public void draw(SpriteBatch batch, double interp) {
+            int drawX = (int) (prevX + (x - prevX) * interp);
+            int drawY = (int) (prevY + (y - prevY) * interp);
+            if (SpriteManager.miniBossRegion != null) {
+                batch.draw(SpriteManager.miniBossRegion, drawX, drawY);
             } else {
-                g.setColor(Color.PINK);
-                g.fillRect((int)x, (int)y, width, height);
-            }
-            for (Orb orb : orbs) {
-                orb.draw(g);
+                batch.fillRect(Color.PINK, null, drawX + width / 2.0, drawY + height / 2.0, width, height, 1, 0);
             }
         }
     }
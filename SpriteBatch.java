@@ -0,0 +1,269 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Collects a render stage's draw commands (sprite blits, exactly rotated sprites,
+ * fallback shapes) instead of having every entity draw straight to a Graphics,
+ * then flush() sorts them by alpha and texture and submits them all through the
+ * one Graphics2D, touching its composite and transform only when they change.
+ *
+ * Commands are kept in growable parallel arrays and sorted as packed long keys,
+ * so a frame doesn't allocate once the arrays are big enough. Drawing order
+ * within a stage follows the sort, not the order commands came in; anything that
+ * must be on top goes in a later stage (flush, then keep recording).
+ */
+public class SpriteBatch {
+    private static final int BLIT = 0;
+    private static final int BLIT_ROTATED = 1;
+    private static final int RECT = 2;
+    private static final int OVAL = 3;
+
+    // Cached composites for every 8-bit alpha; index 255 is plain SRC_OVER
+    private static final AlphaComposite[] ALPHA = new AlphaComposite[256];
+
+    static {
+        for (int i = 0; i < ALPHA.length; i++) {
+            ALPHA[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+        }
+    }
+
+    // Per command
+    private int[] kind, alpha, texture, sx, sy, w, h;
+    private double[] dx, dy, cos, sin;
+    private Color[] fill, outline;
+    private long[] keys;
+    private int count = 0;
+
+    // Textures seen this frame; a command's texture is its index + 1 (0 = no texture)
+    private BufferedImage[] textures = new BufferedImage[8];
+    private int textureCount = 0;
+
+    private int currentAlpha = 255;
+    private boolean alphaEnabled = true;
+    private int flushedCommands = 0;
+    private int stateChanges = 0;
+
+    // Exact rotations; only ever used from the render thread
+    private final AffineTransform rotation = new AffineTransform();
+
+    public SpriteBatch() {
+        allocate(256);
+    }
+
+    private void allocate(int capacity) {
+        kind = new int[capacity];
+        alpha = new int[capacity];
+        texture = new int[capacity];
+        sx = new int[capacity];
+        sy = new int[capacity];
+        w = new int[capacity];
+        h = new int[capacity];
+        dx = new double[capacity];
+        dy = new double[capacity];
+        cos = new double[capacity];
+        sin = new double[capacity];
+        fill = new Color[capacity];
+        outline = new Color[capacity];
+        keys = new long[capacity];
+    }
+
+    private void grow() {
+        int capacity = kind.length * 2;
+        kind = Arrays.copyOf(kind, capacity);
+        alpha = Arrays.copyOf(alpha, capacity);
+        texture = Arrays.copyOf(texture, capacity);
+        sx = Arrays.copyOf(sx, capacity);
+        sy = Arrays.copyOf(sy, capacity);
+        w = Arrays.copyOf(w, capacity);
+        h = Arrays.copyOf(h, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        cos = Arrays.copyOf(cos, capacity);
+        sin = Arrays.copyOf(sin, capacity);
+        fill = Arrays.copyOf(fill, capacity);
+        outline = Arrays.copyOf(outline, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    /** Opacity (0..1) of the commands added after this, until changed again. */
+    public void setAlpha(float a) {
+        if (!alphaEnabled) return;
+        currentAlpha = Math.max(0, Math.min(255, Math.round(a * 255)));
+    }
+
+    /** With alpha off, setAlpha() is ignored and everything is drawn opaque (a cheaper blend). */
+    public void setAlphaEnabled(boolean enabled) {
+        alphaEnabled = enabled;
+        if (!enabled) currentAlpha = 255;
+    }
+
+    private int add(int commandKind, BufferedImage image) {
+        if (count == kind.length) grow();
+        int i = count++;
+        kind[i] = commandKind;
+        alpha[i] = currentAlpha;
+        texture[i] = image != null ? textureId(image) : 0;
+        return i;
+    }
+
+    private int textureId(BufferedImage image) {
+        for (int t = 0; t < textureCount; t++) {
+            if (textures[t] == image) return t + 1;
+        }
+        if (textureCount == textures.length) textures = Arrays.copyOf(textures, textureCount * 2);
+        textures[textureCount++] = image;
+        return textureCount;
+    }
+
+    /** The whole region, top-left corner at (x, y). */
+    public void draw(TextureAtlas.Region region, int x, int y) {
+        draw(region.getPage(), region.getX(), region.getY(), region.getWidth(), region.getHeight(), x, y);
+    }
+
+    /** A sub-rectangle of the region (e.g. one cell of a sheet), top-left corner at (x, y). */
+    public void draw(TextureAtlas.Region region, int srcX, int srcY, int width, int height, int x, int y) {
+        draw(region.getPage(), region.getX() + srcX, region.getY() + srcY, width, height, x, y);
+    }
+
+    /** A sub-rectangle of an image, unscaled, top-left corner at (x, y). */
+    public void draw(BufferedImage image, int srcX, int srcY, int width, int height, int x, int y) {
+        int i = add(BLIT, image);
+        sx[i] = srcX;
+        sy[i] = srcY;
+        w[i] = width;
+        h[i] = height;
+        dx[i] = x;
+        dy[i] = y;
+    }
+
+    /** A sub-rectangle of an image centered on (cx, cy), rotated to the unit vector (c, s). */
+    public void drawRotated(BufferedImage image, int srcX, int srcY, int width, int height,
+                            double cx, double cy, double c, double s) {
+        int i = add(BLIT_ROTATED, image);
+        sx[i] = srcX;
+        sy[i] = srcY;
+        w[i] = width;
+        h[i] = height;
+        dx[i] = cx;
+        dy[i] = cy;
+        cos[i] = c;
+        sin[i] = s;
+    }
+
+    /** Filled (and optionally outlined) rectangle centered on (cx, cy), rotated to the unit vector (c, s). */
+    public void fillRect(Color fillColor, Color outlineColor, double cx, double cy, int width, int height,
+                         double c, double s) {
+        int i = add(RECT, null);
+        fill[i] = fillColor;
+        outline[i] = outlineColor;
+        w[i] = width;
+        h[i] = height;
+        dx[i] = cx;
+        dy[i] = cy;
+        cos[i] = c;
+        sin[i] = s;
+    }
+
+    /** Filled oval in the box with its top-left corner at (x, y). */
+    public void fillOval(Color fillColor, int x, int y, int width, int height) {
+        int i = add(OVAL, null);
+        fill[i] = fillColor;
+        w[i] = width;
+        h[i] = height;
+        dx[i] = x;
+        dy[i] = y;
+    }
+
+    /**
+     * Draws every recorded command into g, sorted by alpha then texture (stable
+     * otherwise), and empties the batch. g's composite and transform are restored.
+     */
+    public void flush(Graphics2D g) {
+        if (count == 0) return;
+        flushedCommands += count;
+        for (int i = 0; i < count; i++) {
+            keys[i] = (long) alpha[i] << 52 | (long) texture[i] << 32 | i;
+        }
+        Arrays.sort(keys, 0, count);
+
+        Composite baseComposite = g.getComposite();
+        AffineTransform base = g.getTransform();
+        int drawnAlpha = 255;
+        int drawnTexture = -1;
+
+        for (int k = 0; k < count; k++) {
+            int i = (int) keys[k];
+            if (alpha[i] != drawnAlpha) {
+                drawnAlpha = alpha[i];
+                g.setComposite(drawnAlpha == 255 ? baseComposite : ALPHA[drawnAlpha]);
+                stateChanges++;
+            }
+            if (texture[i] != drawnTexture) {
+                drawnTexture = texture[i];
+                stateChanges++;
+            }
+
+            switch (kind[i]) {
+                case BLIT -> {
+                    int x = (int) dx[i], y = (int) dy[i];
+                    g.drawImage(textures[texture[i] - 1], x, y, x + w[i], y + h[i],
+                            sx[i], sy[i], sx[i] + w[i], sy[i] + h[i], null);
+                }
+                case BLIT_ROTATED -> {
+                    rotation.setTransform(cos[i], sin[i], -sin[i], cos[i], dx[i], dy[i]);
+                    g.transform(rotation);
+                    int x = -w[i] / 2, y = -h[i] / 2;
+                    g.drawImage(textures[texture[i] - 1], x, y, x + w[i], y + h[i],
+                            sx[i], sy[i], sx[i] + w[i], sy[i] + h[i], null);
+                    g.setTransform(base);
+                }
+                case RECT -> {
+                    rotation.setTransform(cos[i], sin[i], -sin[i], cos[i], dx[i], dy[i]);
+                    g.transform(rotation);
+                    g.setColor(fill[i]);
+                    g.fillRect(-w[i] / 2, -h[i] / 2, w[i], h[i]);
+                    if (outline[i] != null) {
+                        g.setColor(outline[i]);
+                        g.drawRect(-w[i] / 2, -h[i] / 2, w[i], h[i]);
+                    }
+                    g.setTransform(base);
+                }
+                case OVAL -> {
+                    g.setColor(fill[i]);
+                    g.fillOval((int) dx[i], (int) dy[i], w[i], h[i]);
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (drawnAlpha != 255) g.setComposite(baseComposite);
+        Arrays.fill(fill, 0, count, null);
+        Arrays.fill(outline, 0, count, null);
+        Arrays.fill(textures, 0, textureCount, null);
+        textureCount = 0;
+        count = 0;
+        currentAlpha = 255;
+    }
+
+    // Totals since resetStats(), for the F3 overlay
+    public int getFlushedCommands() {
+        return flushedCommands;
+    }
+
+    /** Composite or texture switches made while flushing. */
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    public void resetStats() {
+        flushedCommands = 0;
+        stateChanges = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+}
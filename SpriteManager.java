@@ -1,7 +1,6 @@
 
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.util.concurrent.CompletableFuture;
 
 public class SpriteManager {
     // existing sprites
@@ -24,40 +23,163 @@ public class SpriteManager {
     public static BufferedImage chargerEnemySprite;
     public static BufferedImage rangedEnemySprite;
 
-    // Load all sprites here
+    // Everything the game draws, pre-scaled into screen-compatible pages (see buildAtlas)
+    public static TextureAtlas atlas;
+    public static TextureAtlas.Region bgRegion;
+    public static TextureAtlas.Region blastFadeRegion; // see ParticleSystem
+    public static TextureAtlas.Region orbRegion;
+    public static TextureAtlas.Region miniBossRegion;
+
+    // Pre-rotated variants at their drawn sizes (null when the sprite didn't load)
+    public static RotatedSprite enemyRotated;
+    public static RotatedSprite chargerEnemyRotated;
+    public static RotatedSprite rangedEnemyRotated;
+    public static RotatedSprite bulletRotated;
+    public static RotatedSprite enemybulletRotated;
+    public static RotatedSprite bossRotated;
+    private static RotatedSprite[] playerSkinsRotated = new RotatedSprite[0];
+    private static RotatedSprite playerRotated;
+
+    // Set once the images are decoded and the atlas is built (see loadAsync)
+    private static CompletableFuture<Void> loading;
+    // The skin selectedPlayerSprite should be, and whether its image is in yet
+    private static String selectedSkinId = "default";
+    private static boolean skinsLoaded = false;
+
+    /**
+     * Starts loading the sprites in the background (decoded by AssetLoader) and
+     * builds the atlas once they're all in. Only the first call starts anything;
+     * every later one returns the same future.
+     */
+    public static synchronized CompletableFuture<Void> loadAsync() {
+        if (loading == null) {
+            AssetLoader assets = AssetLoader.get().start();
+            loading = assets.allLoaded().thenRun(() -> {
+                playerDefaultSprite = assets.image("playerDefault").join();
+                playerSkin1 = assets.image("playerSkin1").join();
+                playerSkin2 = assets.image("playerSkin2").join();
+                playerSkin3 = assets.image("playerSkin3").join();
+                synchronized (SpriteManager.class) {
+                    skinsLoaded = true;
+                    selectedPlayerSprite = skinSprite(selectedSkinId);
+                }
+                enemySprite = assets.image("enemy").join();
+                bulletSprite = assets.image("bullet").join();
+                enemybulletSprite = assets.image("enemyBullet").join();
+                bgSprite = assets.image("bg").join();
+                blastSprite = assets.image("blast").join();
+                bossSprite = assets.image("boss").join();
+                orbSprite = assets.image("orb").join();
+                chargerEnemySprite = assets.image("chargerEnemy").join();
+                rangedEnemySprite = assets.image("rangedEnemy").join();
+
+                buildAtlas();
+            }).exceptionally(e -> {
+                System.out.println("⚠ Error preparing sprites");
+                e.printStackTrace();
+                return null;
+            });
+        }
+        return loading;
+    }
+
+    /**
+     * Makes the skin ("default", "skin1".."skin3") the player's sprite: right away if
+     * the sprites are in, otherwise as soon as they load.
+     */
+    public static synchronized void selectPlayerSkin(String skinId) {
+        selectedSkinId = skinId;
+        if (skinsLoaded) selectedPlayerSprite = skinSprite(skinId);
+    }
+
+    private static BufferedImage skinSprite(String skinId) {
+        return switch (DatabaseManager.normalizeSkin(skinId)) {
+            case "skin1" -> playerSkin1;
+            case "skin2" -> playerSkin2;
+            case "skin3" -> playerSkin3;
+            default -> playerDefaultSprite;
+        };
+    }
+
+    /** Blocks until the sprites are ready (returns right away once they are). */
     public static void loadSprites() {
-        try {
-            // existing sprite loads
-        	
-
-        	playerDefaultSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Player1.png"));
-            playerSkin1 = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Player2.png"));
-            playerSkin2 = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Player3.png"));
-            playerSkin3 = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Player4.png"));
-            selectedPlayerSprite = playerDefaultSprite;
-            enemySprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Enemy1.png"));
-            bulletSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/bullet.png"));
-            enemybulletSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Enemy bullet.png"));
-            bgSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/bg.png"));
-            blastSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/blast.png"));
-            bossSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/Boss1.png"));
-            orbSprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/orb.png"));
-
-            // load new enemy sprites
-            chargerEnemySprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/ChargerEnemy.png"));
-            rangedEnemySprite = ImageIO.read(SpriteManager.class.getResourceAsStream("/assets/RangedEnemy.png"));
-
-            System.out.println("✅ Enemy sprites loaded");
-
-        } catch (IOException e) {
-            System.out.println("⚠ Error reading image file");
-            // fallback to null if not found
-            chargerEnemySprite = null;
-            rangedEnemySprite = null;
-            e.printStackTrace();
-        } catch (NullPointerException npe) {
-            System.out.println("❌ Could not find one or more sprite files in /assets/ folder");
-            npe.printStackTrace();
+        loadAsync().join();
+    }
+
+    /**
+     * Scales every in-game sprite to its drawn size (rotating ones into rotation
+     * sheets) and packs them into the atlas. Sprites that failed to load are left
+     * out and their draw sites use their fallback shapes.
+     */
+    private static void buildAtlas() {
+        enemyRotated = rotated(enemySprite, 40, 40);
+        chargerEnemyRotated = rotated(chargerEnemySprite, 32, 32);
+        rangedEnemyRotated = rotated(rangedEnemySprite, 36, 36);
+        bulletRotated = rotated(bulletSprite, ProjectileSystem.BULLET_SIZE, ProjectileSystem.BULLET_SIZE);
+        enemybulletRotated = rotated(enemybulletSprite, ProjectileSystem.BULLET_SIZE, ProjectileSystem.BULLET_SIZE);
+        bossRotated = rotated(bossSprite, 100, 100);
+        playerSkinsRotated = new RotatedSprite[] {
+                rotated(playerDefaultSprite, 40, 40), rotated(playerSkin1, 40, 40),
+                rotated(playerSkin2, 40, 40), rotated(playerSkin3, 40, 40)
+        };
+
+        TextureAtlas.Builder builder = new TextureAtlas.Builder()
+                .add("bg", bgSprite, GamePanel.WIDTH, GamePanel.HEIGHT)
+                .add("orb", orbSprite, ProjectileSystem.ORB_SIZE, ProjectileSystem.ORB_SIZE)
+                .add("miniBoss", bossSprite, 50, 50);
+        if (blastSprite != null) {
+            int size = ParticleSystem.BLAST_SIZE;
+            builder.add("blastFade", ParticleSystem.renderFadeSheet(TextureAtlas.scale(blastSprite, size, size)));
+        }
+        addRotated(builder, "enemy", enemyRotated);
+        addRotated(builder, "chargerEnemy", chargerEnemyRotated);
+        addRotated(builder, "rangedEnemy", rangedEnemyRotated);
+        addRotated(builder, "bullet", bulletRotated);
+        addRotated(builder, "enemyBullet", enemybulletRotated);
+        addRotated(builder, "boss", bossRotated);
+        for (int i = 0; i < playerSkinsRotated.length; i++) {
+            addRotated(builder, "player" + i, playerSkinsRotated[i]);
+        }
+        atlas = builder.build();
+
+        bgRegion = atlas.get("bg");
+        blastFadeRegion = atlas.get("blastFade");
+        orbRegion = atlas.get("orb");
+        miniBossRegion = atlas.get("miniBoss");
+        bindRotated("enemy", enemyRotated);
+        bindRotated("chargerEnemy", chargerEnemyRotated);
+        bindRotated("rangedEnemy", rangedEnemyRotated);
+        bindRotated("bullet", bulletRotated);
+        bindRotated("enemyBullet", enemybulletRotated);
+        bindRotated("boss", bossRotated);
+        for (int i = 0; i < playerSkinsRotated.length; i++) {
+            bindRotated("player" + i, playerSkinsRotated[i]);
+        }
+
+        System.out.println("✅ Sprite atlas built (" + atlas.getPageCount() + " pages)");
+    }
+
+    private static RotatedSprite rotated(BufferedImage sprite, int width, int height) {
+        return sprite != null ? new RotatedSprite(sprite, width, height) : null;
+    }
+
+    private static void addRotated(TextureAtlas.Builder builder, String name, RotatedSprite sprite) {
+        if (sprite != null) builder.add(name, sprite.getAtlasImage());
+    }
+
+    private static void bindRotated(String name, RotatedSprite sprite) {
+        if (sprite != null) sprite.bind(atlas.get(name));
+    }
+
+    /** Rotations of the currently selected skin (the shop can swap it at any time). */
+    public static RotatedSprite playerRotated() {
+        if (selectedPlayerSprite == null) return null;
+        if (playerRotated != null && playerRotated.getSource() == selectedPlayerSprite) return playerRotated;
+
+        for (RotatedSprite skin : playerSkinsRotated) {
+            if (skin != null && skin.getSource() == selectedPlayerSprite) return playerRotated = skin;
         }
+        // Not one of the known skins: still works, just not from the atlas
+        return playerRotated = new RotatedSprite(selectedPlayerSprite, 40, 40);
     }
 }
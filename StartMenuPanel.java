@@ -1,6 +1,5 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 
 class StartMenuPanel extends JPanel {
@@ -20,6 +19,7 @@ class StartMenuPanel extends JPanel {
         setBackground(Color.decode("#181a20"));
         loadBackgroundImage();
         startAnimation();
+        watchAssetLoading();
 
         // Main menu panel
         JPanel menuPanel = new JPanel();
@@ -48,7 +48,7 @@ class StartMenuPanel extends JPanel {
         startBtn.addActionListener(e -> {
             if (gameMain.getUsername() != null && !gameMain.getUsername().isEmpty()) {
                 gameMain.showGamePanel();
-                new LeaderboardWindow();
+                new LeaderboardWindow(gameMain.getDatabaseManager());
             } else {
                 JOptionPane.showMessageDialog(this, "Please login first!");
             }
@@ -59,7 +59,7 @@ class StartMenuPanel extends JPanel {
         // LEADERBOARD BUTTON
         JButton leaderboardBtn = minimalistMenuButton("LEADERBOARD", menuFont, borderRadius, borderThickness);
         leaderboardBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        leaderboardBtn.addActionListener(e -> new LeaderboardWindow());
+        leaderboardBtn.addActionListener(e -> new LeaderboardWindow(gameMain.getDatabaseManager()));
         menuPanel.add(leaderboardBtn);
         menuPanel.add(Box.createRigidArea(new Dimension(0, 18)));
         
@@ -68,11 +68,11 @@ class StartMenuPanel extends JPanel {
         shopBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
         shopBtn.addActionListener(e -> {
             String username = gameMain.getUsername();
-            DatabaseManager db = gameMain.getDatabaseManager();
 
 
-            if (username != null && !username.isEmpty() && db != null) {
-                new ShopWindow(username, db);
+            if (username != null && !username.isEmpty() && gameMain.getProfile() != null) {
+                SpriteManager.loadSprites(); // the shop shows the skin images
+                new ShopWindow(gameMain);
             } else {
                 JOptionPane.showMessageDialog(this, "Please log in to access the shop.");
             }
@@ -122,12 +122,25 @@ class StartMenuPanel extends JPanel {
 
     }
 
+    // Shared with the game's background decode; shows up as soon as it's ready
     private void loadBackgroundImage() {
-        try {
-            backgroundImage = ImageIO.read(getClass().getResource("/assets/bg.png"));
-        } catch (Exception e) {
-            backgroundImage = null;
-        }
+        AssetLoader.get().image("menuBackground").thenAccept(image -> SwingUtilities.invokeLater(() -> {
+            backgroundImage = image;
+            repaint();
+        }));
+    }
+
+    // Keeps the loading bar moving while assets decode, and clears it once they're all in
+    private void watchAssetLoading() {
+        AssetLoader assets = AssetLoader.get();
+        if (assets.isDone()) return;
+        Timer progressTimer = new Timer(100, null);
+        progressTimer.addActionListener(e -> {
+            if (assets.isDone()) progressTimer.stop();
+            repaint();
+        });
+        progressTimer.start();
+        assets.allLoaded().thenRun(() -> SwingUtilities.invokeLater(this::repaint));
     }
 
     private JButton minimalistMenuButton(String text, Font font, int radius, int thickness) {
@@ -290,6 +303,15 @@ class StartMenuPanel extends JPanel {
         g2d.drawString(title, x + 4, y + 8);
         g2d.setColor(new Color(210, 225, 247));
         g2d.drawString(title, x, y);
+
+        // Asset loading progress along the bottom edge until everything is in
+        AssetLoader assets = AssetLoader.get();
+        if (!assets.isDone()) {
+            g2d.setColor(new Color(64, 64, 90));
+            g2d.fillRect(0, getHeight() - 4, getWidth(), 4);
+            g2d.setColor(new Color(210, 225, 247));
+            g2d.fillRect(0, getHeight() - 4, (int) (getWidth() * assets.getProgress()), 4);
+        }
         g2d.dispose();
     }
 }
@@ -0,0 +1,200 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * A few big screen-compatible images ("pages") holding every game sprite at the
+ * size it's drawn at, looked up by name. ImageIO hands back whatever layout the
+ * PNG had (often huge and not matching the screen), so drawing those converts and
+ * scales pixels on every blit; a compatible, pre-scaled page can stay cached in
+ * video memory and each draw is a plain sub-image copy.
+ */
+public class TextureAtlas {
+    public static final int PAGE_SIZE = 1024;
+    // Transparent gap between regions so filtering never bleeds a neighbour in
+    private static final int PADDING = 1;
+
+    /** A named rectangle on one of the pages. */
+    public static final class Region {
+        private final String name;
+        private final BufferedImage page;
+        private final int x, y, width, height;
+
+        Region(String name, BufferedImage page, int x, int y, int width, int height) {
+            this.name = name;
+            this.page = page;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /** Unscaled blit with the region's top-left corner at (dx, dy). */
+        public void draw(Graphics g, int dx, int dy) {
+            g.drawImage(page, dx, dy, dx + width, dy + height, x, y, x + width, y + height, null);
+        }
+
+        /** Blit of a sub-rectangle of this region (e.g. one cell of a sprite sheet). */
+        public void draw(Graphics g, int dx, int dy, int sx, int sy, int w, int h) {
+            g.drawImage(page, dx, dy, dx + w, dy + h, x + sx, y + sy, x + sx + w, y + sy + h, null);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BufferedImage getPage() {
+            return page;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    private final HashMap<String, Region> regions;
+    private final ArrayList<BufferedImage> pages;
+
+    private TextureAtlas(HashMap<String, Region> regions, ArrayList<BufferedImage> pages) {
+        this.regions = regions;
+        this.pages = pages;
+    }
+
+    /** The named region, or null if nothing was added under that name. */
+    public Region get(String name) {
+        return regions.get(name);
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /** Collects images (scaled to their drawn size) and packs them into pages. */
+    public static final class Builder {
+        private final ArrayList<String> names = new ArrayList<>();
+        private final ArrayList<BufferedImage> images = new ArrayList<>();
+
+        /** Adds src scaled to width x height. Null images are skipped (sprite failed to load). */
+        public Builder add(String name, BufferedImage src, int width, int height) {
+            if (src != null) {
+                names.add(name);
+                images.add(scale(src, width, height));
+            }
+            return this;
+        }
+
+        /** Adds an image as is (already at its drawn size). */
+        public Builder add(String name, BufferedImage image) {
+            if (image != null) {
+                names.add(name);
+                images.add(image);
+            }
+            return this;
+        }
+
+        /**
+         * Shelf packing, tallest first: fill a row left to right, start a new row
+         * below when it's full and a new page when the page is full. Anything
+         * bigger than a page gets a page of its own size.
+         */
+        public TextureAtlas build() {
+            Integer[] order = new Integer[images.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt((Integer i) -> images.get(i).getHeight()).reversed());
+
+            HashMap<String, Region> regions = new HashMap<>();
+            ArrayList<BufferedImage> pages = new ArrayList<>();
+            Graphics2D g = null;
+            BufferedImage page = null;
+            int shelfX = 0, shelfY = 0, shelfHeight = 0;
+
+            for (int i : order) {
+                BufferedImage img = images.get(i);
+                int w = img.getWidth() + PADDING, h = img.getHeight() + PADDING;
+
+                if (w > PAGE_SIZE || h > PAGE_SIZE) {
+                    BufferedImage own = createCompatibleImage(img.getWidth(), img.getHeight());
+                    Graphics2D og = own.createGraphics();
+                    og.drawImage(img, 0, 0, null);
+                    og.dispose();
+                    pages.add(own);
+                    regions.put(names.get(i), new Region(names.get(i), own, 0, 0, img.getWidth(), img.getHeight()));
+                    continue;
+                }
+
+                if (page != null && shelfX + w > PAGE_SIZE) {
+                    shelfX = 0;
+                    shelfY += shelfHeight;
+                    shelfHeight = 0;
+                }
+                if (page == null || shelfY + h > PAGE_SIZE) {
+                    if (g != null) g.dispose();
+                    page = createCompatibleImage(PAGE_SIZE, PAGE_SIZE);
+                    pages.add(page);
+                    g = page.createGraphics();
+                    g.setComposite(AlphaComposite.Src);
+                    shelfX = shelfY = shelfHeight = 0;
+                }
+
+                g.drawImage(img, shelfX, shelfY, null);
+                regions.put(names.get(i), new Region(names.get(i), page, shelfX, shelfY, img.getWidth(), img.getHeight()));
+                shelfX += w;
+                shelfHeight = Math.max(shelfHeight, h);
+            }
+            if (g != null) g.dispose();
+            return new TextureAtlas(regions, pages);
+        }
+    }
+
+    /**
+     * Image in the screen's pixel layout with alpha, so blits from it can be
+     * accelerated. Without a screen (headless) it's plain ARGB.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Downscales in halving steps before the final bilinear pass; a single bilinear
+     * pass from a 1280px PNG to an 8px bullet would just skip most of the pixels.
+     */
+    public static BufferedImage scale(BufferedImage src, int width, int height) {
+        BufferedImage current = src;
+        int w = src.getWidth(), h = src.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            if (w < width * 2 && h < height * 2) {
+                w = width;
+                h = height;
+            }
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+}
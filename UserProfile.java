@@ -0,0 +1,70 @@
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Snapshot of what the UI shows about the logged-in user (coins, highscore, owned
+ * and selected skins), loaded with one query and kept in GameMain. Immutable: a
+ * change makes a new profile, so a window holding an old one never sees it half
+ * updated.
+ */
+public class UserProfile {
+    private final String username;
+    private final int highscore;
+    private final int currency;
+    private final Set<String> ownedSkins;
+    private final String selectedSkin;
+
+    public UserProfile(String username, int highscore, int currency, Set<String> ownedSkins, String selectedSkin) {
+        this.username = username;
+        this.highscore = highscore;
+        this.currency = currency;
+        this.ownedSkins = Collections.unmodifiableSet(ownedSkins);
+        this.selectedSkin = selectedSkin != null ? DatabaseManager.normalizeSkin(selectedSkin) : "default";
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getHighscore() {
+        return highscore;
+    }
+
+    public int getCurrency() {
+        return currency;
+    }
+
+    public Set<String> getOwnedSkins() {
+        return ownedSkins;
+    }
+
+    public String getSelectedSkin() {
+        return selectedSkin;
+    }
+
+    public boolean isSelected(String skinId) {
+        return selectedSkin.equals(DatabaseManager.normalizeSkin(skinId));
+    }
+
+    /** Everyone owns the default skin. */
+    public boolean owns(String skinId) {
+        String id = DatabaseManager.normalizeSkin(skinId);
+        return id.equals("default") || ownedSkins.contains(id);
+    }
+
+    public UserProfile withStats(int highscore, int currency) {
+        return new UserProfile(username, highscore, currency, ownedSkins, selectedSkin);
+    }
+
+    /** Owning skinId, with the balance the purchase left. */
+    public UserProfile withPurchase(String skinId, int currency) {
+        Set<String> skins = new HashSet<>(ownedSkins);
+        skins.add(DatabaseManager.normalizeSkin(skinId));
+        return new UserProfile(username, highscore, currency, skins, selectedSkin);
+    }
+
+    public UserProfile withSelectedSkin(String skinId) {
+        return new UserProfile(username, highscore, currency, ownedSkins, skinId);
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * The part of the world that's on screen this frame. The renderer asks it before
+ * recording anything, so entities that can't be seen (enemies still walking in
+ * from their off-screen spawn, orbs on their way out) cost no draw work. Keeps
+ * count of what it let through and what it culled.
+ */
+public class Viewport {
+    private double left, top, right, bottom;
+    private int drawn, culled;
+
+    /** Sets the visible world rectangle for a new frame; the counters start over. */
+    public void set(double x, double y, double width, double height) {
+        left = x;
+        top = y;
+        right = x + width;
+        bottom = y + height;
+        drawn = 0;
+        culled = 0;
+    }
+
+    /**
+     * Whether anything within extent px of (cx, cy) (a square, so rotation only
+     * needs a big enough extent) is on screen. Counted as drawn or culled.
+     */
+    public boolean isVisible(double cx, double cy, double extent) {
+        if (cx + extent < left || cx - extent > right || cy + extent < top || cy - extent > bottom) {
+            culled++;
+            return false;
+        }
+        drawn++;
+        return true;
+    }
+
+    public int getDrawn() {
+        return drawn;
+    }
+
+    public int getCulled() {
+        return culled;
+    }
+}
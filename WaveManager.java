@@ -1,10 +1,8 @@
 import java.awt.Point;
-import java.util.Random;
 
 public class WaveManager {
     private int currentWave = 1;
     private int bossesDefeated = 0;
-    private Random random = new Random();
 
     public int getCurrentWave() {
         return currentWave;
@@ -14,12 +12,12 @@ public class WaveManager {
         return bossesDefeated;
     }
 
-    public void startWave(int wave, GamePanel game) {
+    public void startWave(int wave, GameWorld game) {
         currentWave = wave;
 
         // Clear enemies and bosses for new wave
-        game.enemies.clear();
-        game.bosses.clear();
+        game.clearEnemies();
+        game.clearBosses();
 
         switch (currentWave) {
             case 1:
@@ -78,7 +76,7 @@ public class WaveManager {
         }
     }
 
-    public void updateWave(GamePanel game) {
+    public void updateWave(GameWorld game) {
         boolean allBossesDead = !game.bosses.isEmpty() && game.bosses.stream().allMatch(Boss::isDead);
 
         if (game.enemies.isEmpty() && (game.bosses.isEmpty() || allBossesDead)) {
@@ -89,9 +87,9 @@ public class WaveManager {
         }
     }
 
-    private void spawnEnemies(GamePanel game, Class<? extends Enemy> enemyClass, int count) {
+    private void spawnEnemies(GameWorld game, Class<? extends Enemy> enemyClass, int count) {
         for (int i = 0; i < count; i++) {
-            Point pos = getRandomOffscreenPosition();
+            Point pos = getRandomOffscreenPosition(game);
             Enemy enemy = createEnemyInstance(enemyClass, pos.x, pos.y);
             if (enemy != null) {
                 game.enemies.add(enemy);
@@ -109,31 +107,31 @@ public class WaveManager {
         }
     }
 
-    private void spawnBoss(GamePanel game) {
-        Point bossPoint = Boss.getRandomSpawnPoint();
+    private void spawnBoss(GameWorld game) {
+        Point bossPoint = Boss.getRandomSpawnPoint(game);
         game.bosses.add(new Boss(bossPoint.x, bossPoint.y));
     }
 
-    private Point getRandomOffscreenPosition() {
-        int edge = random.nextInt(4); // 0=left, 1=right, 2=top, 3=bottom
+    private Point getRandomOffscreenPosition(GameWorld game) {
+        int edge = game.random.nextInt(4); // 0=left, 1=right, 2=top, 3=bottom
         int x, y;
 
         switch (edge) {
             case 0: // left
                 x = -50; // offscreen left
-                y = random.nextInt(GamePanel.HEIGHT);
+                y = game.random.nextInt(game.height);
                 break;
             case 1: // right
-                x = GamePanel.WIDTH + 50; // offscreen right
-                y = random.nextInt(GamePanel.HEIGHT);
+                x = game.width + 50; // offscreen right
+                y = game.random.nextInt(game.height);
                 break;
             case 2: // top
-                x = random.nextInt(GamePanel.WIDTH);
+                x = game.random.nextInt(game.width);
                 y = -50; // offscreen top
                 break;
             case 3: // bottom
-                x = random.nextInt(GamePanel.WIDTH);
-                y = GamePanel.HEIGHT + 50; // offscreen bottom
+                x = game.random.nextInt(game.width);
+                y = game.height + 50; // offscreen bottom
                 break;
             default:
                 x = -50;
@@ -0,0 +1,33 @@
+package tdsg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** Boss.update() for the two bosses of the orb storm scenario, orb bursts included. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class BossBenchmark {
+    // Nothing flies the orbs here, so drop them now and then instead of growing forever
+    private static final int MAX_PROJECTILES = 4096;
+
+    private GameWorld world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = Scenarios.orbStorm();
+    }
+
+    @Benchmark
+    public int update() {
+        if (world.projectiles.size() > MAX_PROJECTILES) world.projectiles.clear();
+        for (int i = 0; i < world.bosses.size(); i++) {
+            world.bosses.get(i).update(world);
+        }
+        return world.projectiles.size();
+    }
+}
@@ -0,0 +1,38 @@
+package tdsg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One collision phase (grid rebuild, projectile pass, enemy contact damage,
+ * removals) on a crowded arena: every enemy of the wave on screen and
+ * BULLETS player bullets plus as many enemy bullets in flight.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private static final int BULLETS = 256;
+
+    @Param({"9", "30", "100"})
+    public int wave;
+
+    private GameWorld world;
+
+    // The pass kills enemies and removes projectiles, so start over every time
+    @Setup(Level.Invocation)
+    public void setUp() {
+        world = Scenarios.wave(wave);
+        Scenarios.crowd(world, BULLETS);
+    }
+
+    @Benchmark
+    public int collide() {
+        world.collide();
+        return world.enemies.size() + world.projectiles.size();
+    }
+}
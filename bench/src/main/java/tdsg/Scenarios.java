@@ -0,0 +1,116 @@
+package tdsg;
+
+/**
+ * Reproducible starting points for the benchmarks. Every world uses the same
+ * seed and every tick is driven by the same scripted input, so two runs of a
+ * scenario simulate exactly the same game.
+ */
+public final class Scenarios {
+    public static final long SEED = 42;
+    public static final int WIDTH = 1000;
+    public static final int HEIGHT = 700;
+
+    // Ticks a boss scenario runs before measuring, so the orb cloud has built up
+    private static final int ORB_STORM_PREWARM = 600;
+
+    // Scripted aim: a shot every few ticks, sweeping around the player
+    private static final int SHOT_INTERVAL = 6;
+    private static final int AIM_STEPS = 64;
+    private static final int AIM_RADIUS = 200;
+    private static final int[] AIM_X = new int[AIM_STEPS];
+    private static final int[] AIM_Y = new int[AIM_STEPS];
+
+    static {
+        for (int i = 0; i < AIM_STEPS; i++) {
+            double angle = 2 * Math.PI * i / AIM_STEPS;
+            AIM_X[i] = (int) (Math.cos(angle) * AIM_RADIUS);
+            AIM_Y[i] = (int) (Math.sin(angle) * AIM_RADIUS);
+        }
+    }
+
+    private Scenarios() {
+    }
+
+    /** "wave1", "wave30", ... or "orbStorm". */
+    public static GameWorld create(String scenario) {
+        if (scenario.equals("orbStorm")) return orbStorm();
+        if (scenario.startsWith("wave")) return wave(Integer.parseInt(scenario.substring(4)));
+        throw new IllegalArgumentException("Unknown scenario: " + scenario);
+    }
+
+    /** A fresh world at the start of the given wave (waves past 9 are procedural). */
+    public static GameWorld wave(int wave) {
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, SEED);
+        world.reset();
+        if (wave != 1) world.waveManager.startWave(wave, world);
+        return world;
+    }
+
+    /** Two bosses and nothing else, run until their orbs fill the arena. */
+    public static GameWorld orbStorm() {
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, SEED);
+        world.reset();
+        world.clearEnemies();
+        for (int i = 0; i < 2; i++) {
+            java.awt.Point p = Boss.getRandomSpawnPoint(world);
+            world.bosses.add(new Boss(p.x, p.y));
+        }
+
+        InputState input = new InputState();
+        for (int t = 0; t < ORB_STORM_PREWARM; t++) {
+            godMode(world);
+            world.tick(input);
+        }
+        return world;
+    }
+
+    /**
+     * Bring every enemy into the arena and put projectiles in flight around the
+     * player, so a collision pass has real work to do on its first call.
+     */
+    public static void crowd(GameWorld world, int bullets) {
+        for (Enemy en : world.enemies) {
+            en.x = world.random.nextInt(WIDTH - en.width);
+            en.y = world.random.nextInt(HEIGHT - en.height);
+        }
+
+        Player player = world.player;
+        double cx = player.x + player.width / 2.0;
+        double cy = player.y + player.height / 2.0;
+        for (int i = 0; i < bullets; i++) {
+            double angle = 2 * Math.PI * i / bullets;
+            double r = 50 + world.random.nextInt(300);
+            world.projectiles.spawn(SpatialGrid.PLAYER_BULLETS, ProjectileSystem.OWNER_PLAYER,
+                    cx + Math.cos(angle) * r, cy + Math.sin(angle) * r, angle,
+                    ProjectileSystem.PLAYER_BULLET_SPEED, ProjectileSystem.BULLET_SIZE);
+            world.projectiles.spawn(SpatialGrid.ENEMY_BULLETS, ProjectileSystem.OWNER_ENEMY,
+                    cx + Math.cos(angle) * r, cy + Math.sin(angle) * r, angle + Math.PI,
+                    ProjectileSystem.ENEMY_BULLET_SPEED, ProjectileSystem.BULLET_SIZE);
+        }
+    }
+
+    /** Scripted input for tick t: strafe around and (optionally) shoot in a sweeping circle. */
+    public static void drive(GameWorld world, InputState input, int t, boolean shooting) {
+        godMode(world);
+
+        input.left = (t / 90) % 2 == 0;
+        input.right = !input.left;
+        input.up = (t / 150) % 2 == 0;
+        input.down = !input.up;
+
+        if (shooting && t % SHOT_INTERVAL == 0) {
+            Player player = world.player;
+            int step = (t / SHOT_INTERVAL) % AIM_STEPS;
+            input.queueShot((int) player.x + player.width / 2 + AIM_X[step],
+                    (int) player.y + player.height / 2 + AIM_Y[step]);
+        }
+    }
+
+    // Keep the run going: a game over would turn the remaining ticks into no-ops.
+    // Big waves can deal far more than maxHealth in one tick, hence the large buffer.
+    private static final int GOD_MODE_HEALTH = 1_000_000;
+
+    private static void godMode(GameWorld world) {
+        world.player.health = GOD_MODE_HEALTH;
+    }
+}
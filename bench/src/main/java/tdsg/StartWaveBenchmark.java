@@ -0,0 +1,30 @@
+package tdsg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/** WaveManager.startWave(): clearing the old wave and spawning the new one. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class StartWaveBenchmark {
+    @Param({"1", "9", "30", "100"})
+    public int wave;
+
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = Scenarios.wave(1);
+    }
+
+    @Benchmark
+    public int startWave() {
+        world.waveManager.startWave(wave, world);
+        return world.enemies.size() + world.bosses.size();
+    }
+}
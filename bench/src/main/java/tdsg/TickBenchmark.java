@@ -0,0 +1,51 @@
+package tdsg;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Full GameWorld.tick() at fixed scenarios, one tick per op. The world is built
+ * once per iteration and played with scripted input; when the wave is cleared it
+ * is started again, so the whole iteration stays on the scenario's wave and the
+ * gc profiler only sees what ticking allocates.
+ *
+ *     java -jar target/benchmarks.jar TickBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TickBenchmark {
+    @Param({"wave1", "wave9", "wave30", "wave60", "wave100", "orbStorm"})
+    public String scenario;
+
+    @Param({"false"})
+    public boolean parallel;
+
+    private GameWorld world;
+    private InputState input;
+    private int wave;
+    private boolean shooting;
+    private int t;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = Scenarios.create(scenario);
+        world.setParallel(parallel);
+        input = new InputState();
+        wave = world.getCurrentWave();
+        shooting = !scenario.equals("orbStorm"); // shooting would kill the bosses
+        t = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        Scenarios.drive(world, input, t++, shooting);
+        world.tick(input);
+        if (world.getCurrentWave() != wave) world.waveManager.startWave(wave, world);
+        return world.getScore();
+    }
+}